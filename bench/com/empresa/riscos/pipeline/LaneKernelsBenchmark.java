@@ -0,0 +1,107 @@
+package com.empresa.riscos.pipeline;
+
+import com.empresa.riscos.model.FinancialData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara, para score ({@code int[]}) e renda ({@code double[]}), o caminho por objeto
+ * ({@code process} de cada {@link FinancialData}) com os kernels escalar e vetorial de
+ * {@link LaneKernels}. Requer o JMH e as classes de {@code src} e {@code src-vector} no
+ * classpath; os forks sobem com o módulo da Vector API e o log silenciado.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules=jdk.incubator.vector", "-Driscos.log.silent=true"})
+public class LaneKernelsBenchmark {
+    @Param({"4096", "65536"})
+    int size;
+
+    private FinancialData[] records;
+    private int[] scores;
+    private double[] incomes;
+    private long[] lanes;
+    private BasicRiskValidator basic;
+    private CreditRiskValidator credit;
+    private LaneKernels.Accelerated vector;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        records = new FinancialData[size];
+        scores = new int[size];
+        incomes = new double[size];
+        for (int i = 0; i < size; i++) {
+            scores[i] = random.nextInt(1000);
+            incomes[i] = random.nextDouble() * 20_000;
+            records[i] = new FinancialData(scores[i], incomes[i], false);
+        }
+        lanes = new long[Survivors.words(size)];
+        basic = new BasicRiskValidator();
+        credit = new CreditRiskValidator();
+        vector = new VectorLaneKernels();
+    }
+
+    @Benchmark
+    public long[] scorePerObject() {
+        for (int i = 0; i < size; i++) {
+            if (basic.process(records[i])) {
+                lanes[i >>> 6] |= 1L << i;
+            } else {
+                lanes[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return lanes;
+    }
+
+    @Benchmark
+    public long[] scoreScalar() {
+        LaneKernels.greaterThanScalar(scores, size, BasicRiskValidator.getMinScore(), lanes);
+        return lanes;
+    }
+
+    @Benchmark
+    public long[] scoreVector() {
+        vector.greaterThan(scores, size, BasicRiskValidator.getMinScore(), lanes);
+        return lanes;
+    }
+
+    @Benchmark
+    public long[] incomePerObject() {
+        for (int i = 0; i < size; i++) {
+            if (credit.process(records[i])) {
+                lanes[i >>> 6] |= 1L << i;
+            } else {
+                lanes[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return lanes;
+    }
+
+    @Benchmark
+    public long[] incomeScalar() {
+        LaneKernels.greaterThanScalar(incomes, size, CreditRiskValidator.getMinIncome(), lanes);
+        return lanes;
+    }
+
+    @Benchmark
+    public long[] incomeVector() {
+        vector.greaterThan(incomes, size, CreditRiskValidator.getMinIncome(), lanes);
+        return lanes;
+    }
+}
@@ -0,0 +1,97 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.pipeline.RiskHandler;
+import com.empresa.riscos.strategy.LowRiskStrategy;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compara {@link RiskDispatcher#pooled} com {@link RiskDispatcher#virtualThreads} sobre um
+ * validador que bloqueia como uma chamada a backend lento (stub local com {@code sleep}).
+ * Para cada modo, informa vazão e latências p50/p99, medidas da submissão (incluindo a espera
+ * por vaga) até a conclusão.
+ *
+ * <pre>
+ * java -Driscos.log.silent=true [--enable-preview] -cp out com.empresa.riscos.service.RiskDispatcherComparison \
+ *      [requisições=20000] [latênciaBackendMs=20] [threadsDoPool=200] [concorrênciaVirtual=5000]
+ * </pre>
+ */
+public final class RiskDispatcherComparison {
+    private RiskDispatcherComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long backendMillis = args.length > 1 ? Long.parseLong(args[1]) : 20;
+        int poolThreads = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int virtualConcurrency = args.length > 3 ? Integer.parseInt(args[3]) : 5_000;
+
+        RiskProcessor processor = new RiskProcessor(new BlockingBackend(backendMillis), new LowRiskStrategy());
+        System.out.printf("%d requisições, backend de %d ms%n", requests, backendMillis);
+        try (RiskDispatcher pooled = RiskDispatcher.pooled(processor, poolThreads)) {
+            run("pool(" + poolThreads + ")", pooled, requests);
+        }
+        if (!RiskDispatcher.isVirtualThreadSupported()) {
+            System.out.println("threads virtuais indisponíveis nesta JVM (JDK 19 exige --enable-preview)");
+            return;
+        }
+        try (RiskDispatcher virtual = RiskDispatcher.virtualThreads(processor, virtualConcurrency)) {
+            run("virtual(" + virtualConcurrency + ")", virtual, requests);
+        }
+    }
+
+    private static void run(String label, RiskDispatcher dispatcher, int requests) throws Exception {
+        FinancialData data = new FinancialData(750, 50_000, false);
+        AtomicLongArray latencies = new AtomicLongArray(requests);
+        CompletableFuture<?>[] pending = new CompletableFuture<?>[requests];
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            long submitted = System.nanoTime();
+            pending[i] = dispatcher.submit(data)
+                    .thenRun(() -> latencies.set(index, System.nanoTime() - submitted));
+        }
+        CompletableFuture.allOf(pending).get();
+        long elapsed = System.nanoTime() - start;
+
+        long[] sorted = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        System.out.printf("%-14s vazão %,10.0f req/s  p50 %,8.1f ms  p99 %,8.1f ms%n", label,
+                requests / (elapsed / 1e9), millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** Validador que aprova após esperar pelo "backend". */
+    private static final class BlockingBackend extends RiskHandler {
+        private final long millis;
+
+        BlockingBackend(long millis) {
+            this.millis = millis;
+        }
+
+        @Override
+        protected boolean process(FinancialData data) {
+            try {
+                Thread.sleep(millis);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.empresa.riscos.pipeline;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link LaneKernels} com a Vector API: cada comparação produz a máscara de
+ * {@code species.length()} lanes de uma vez e {@code toLong()} a encaixa na palavra de 64
+ * bits. Compilada e executada com {@code --add-modules jdk.incubator.vector}; carregada
+ * por reflexão, sem dependência do restante do código.
+ */
+final class VectorLaneKernels implements LaneKernels.Accelerated {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorLaneKernels() {
+    }
+
+    @Override
+    public void greaterThan(int[] values, int length, int threshold, long[] lanes) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            lanes[w] = word(values, base, Math.min(64, length - base), threshold);
+        }
+    }
+
+    @Override
+    public void greaterThan(double[] values, int length, double threshold, long[] lanes) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            lanes[w] = word(values, base, Math.min(64, length - base), threshold);
+        }
+    }
+
+    @Override
+    public void retainGreaterThan(int[] values, int length, int threshold, long[] survivors) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            if (survivors[w] != 0) {
+                survivors[w] &= word(values, base, Math.min(64, length - base), threshold);
+            }
+        }
+    }
+
+    @Override
+    public void retainGreaterThan(double[] values, int length, double threshold, long[] survivors) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            if (survivors[w] != 0) {
+                survivors[w] &= word(values, base, Math.min(64, length - base), threshold);
+            }
+        }
+    }
+
+    /** Espécies têm no máximo 64 lanes e dividem 64, então as máscaras nunca se sobrepõem. */
+    private static long word(int[] values, int base, int n, int threshold) {
+        long mask = 0;
+        int j = 0;
+        for (int upper = INTS.loopBound(n); j < upper; j += INTS.length()) {
+            mask |= IntVector.fromArray(INTS, values, base + j)
+                    .compare(VectorOperators.GT, threshold).toLong() << j;
+        }
+        for (; j < n; j++) {
+            mask |= (values[base + j] > threshold ? 1L : 0L) << j;
+        }
+        return mask;
+    }
+
+    private static long word(double[] values, int base, int n, double threshold) {
+        long mask = 0;
+        int j = 0;
+        for (int upper = DOUBLES.loopBound(n); j < upper; j += DOUBLES.length()) {
+            mask |= DoubleVector.fromArray(DOUBLES, values, base + j)
+                    .compare(VectorOperators.GT, threshold).toLong() << j;
+        }
+        for (; j < n; j++) {
+            mask |= (values[base + j] > threshold ? 1L : 0L) << j;
+        }
+        return mask;
+    }
+}
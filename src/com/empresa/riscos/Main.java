@@ -9,15 +9,16 @@ public class Main {
     public static void main(String[] args) {
         FinancialData data = new FinancialData(750, 50000, false);
 
-        RiskHandler pipeline = new BasicRiskValidator()
-                .setNext(new CreditRiskValidator()
-                        .setNext(new FraudRiskValidator()));
+        // setNext devolve o próximo handler, então o encadeamento é feito a partir da cabeça
+        RiskHandler head = new BasicRiskValidator();
+        head.setNext(new CreditRiskValidator())
+                .setNext(new FraudRiskValidator());
 
         RiskStrategy strategy = data.getScore() < 600
                 ? new HighRiskStrategy()
                 : new LowRiskStrategy();
 
-        RiskProcessor processor = new RiskProcessor(pipeline, strategy);
+        RiskProcessor processor = new RiskProcessor(head, strategy);
         processor.process(data);
     }
 }
@@ -0,0 +1,281 @@
+package com.empresa.riscos.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Gerador mínimo de class files (versão 52) usado por {@link RuleCompiler}.
+ * Suporta apenas o necessário para as regras: constant pool, métodos com desvios
+ * para frente e frames {@code same_frame} (pilha vazia, locais iniciais do método).
+ */
+final class ClassFileBuilder {
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PROTECTED = 0x0004;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndex = new HashMap<>();
+    private final List<byte[]> methods = new ArrayList<>();
+    private int poolCount = 1;
+
+    private final int access;
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+
+    ClassFileBuilder(int access, String name, String superName, String... interfaceNames) {
+        this.access = access;
+        this.thisClass = classRef(name);
+        this.superClass = classRef(superName);
+        this.interfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaces[i] = classRef(interfaceNames[i]);
+        }
+    }
+
+    int utf8(String value) {
+        return constant("U" + value, 1, out -> {
+            out.writeByte(1);
+            out.writeUTF(value);
+        });
+    }
+
+    int classRef(String internalName) {
+        int name = utf8(internalName);
+        return constant("C" + internalName, 1, out -> {
+            out.writeByte(7);
+            out.writeShort(name);
+        });
+    }
+
+    int methodRef(String owner, String name, String descriptor) {
+        int ownerIndex = classRef(owner);
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int nameAndType = constant("N" + name + ':' + descriptor, 1, out -> {
+            out.writeByte(12);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+        });
+        return constant("M" + owner + '.' + name + descriptor, 1, out -> {
+            out.writeByte(10);
+            out.writeShort(ownerIndex);
+            out.writeShort(nameAndType);
+        });
+    }
+
+    int integer(int value) {
+        return constant("I" + value, 1, out -> {
+            out.writeByte(3);
+            out.writeInt(value);
+        });
+    }
+
+    int doubleConstant(double value) {
+        return constant("D" + Double.doubleToRawLongBits(value), 2, out -> {
+            out.writeByte(6);
+            out.writeDouble(value);
+        });
+    }
+
+    private int constant(String key, int slots, PoolWriter writer) {
+        Integer existing = poolIndex.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            writer.write(pool);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        int index = poolCount;
+        poolCount += slots;
+        poolIndex.put(key, index);
+        return index;
+    }
+
+    void addMethod(int methodAccess, String name, String descriptor, Code code) {
+        int nameIndex = utf8(name);
+        int descriptorIndex = utf8(descriptor);
+        int codeName = utf8("Code");
+        int frameName = code.frameTargets.isEmpty() ? 0 : utf8("StackMapTable");
+        byte[] frames = code.stackMapTable();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeShort(methodAccess);
+            out.writeShort(nameIndex);
+            out.writeShort(descriptorIndex);
+            out.writeShort(1);
+            byte[] body = code.bytes.toByteArray();
+            int attributes = frames.length == 0 ? 0 : 6 + frames.length;
+            out.writeShort(codeName);
+            out.writeInt(12 + body.length + attributes);
+            out.writeShort(code.maxStack);
+            out.writeShort(code.maxLocals);
+            out.writeInt(body.length);
+            out.write(body);
+            out.writeShort(0);
+            if (frames.length == 0) {
+                out.writeShort(0);
+            } else {
+                out.writeShort(1);
+                out.writeShort(frameName);
+                out.writeInt(frames.length);
+                out.write(frames);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        methods.add(bytes.toByteArray());
+    }
+
+    byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(52);
+            out.writeShort(poolCount);
+            out.write(poolBytes.toByteArray());
+            out.writeShort(access);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int index : interfaces) {
+                out.writeShort(index);
+            }
+            out.writeShort(0);
+            out.writeShort(methods.size());
+            for (byte[] method : methods) {
+                out.write(method);
+            }
+            out.writeShort(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private interface PoolWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /** Posição no código; desvios só podem apontar para frente. */
+    static final class Label {
+        private int position = -1;
+        private final List<int[]> fixups = new ArrayList<>();
+
+        boolean isUsed() {
+            return !fixups.isEmpty();
+        }
+    }
+
+    /** Corpo de um método: bytes, desvios pendentes e alvos que exigem stack map frame. */
+    static final class Code {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final TreeSet<Integer> frameTargets = new TreeSet<>();
+        private final List<Label> labels = new ArrayList<>();
+        private final int maxStack;
+        private final int maxLocals;
+
+        Code(int maxStack, int maxLocals) {
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        Code op(int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        Code op(int opcode, int u2) {
+            bytes.write(opcode);
+            bytes.write(u2 >>> 8);
+            bytes.write(u2);
+            return this;
+        }
+
+        Code pushInt(ClassFileBuilder builder, int value) {
+            if (value >= -1 && value <= 5) {
+                return op(0x03 + value);
+            }
+            if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+                bytes.write(0x10);
+                bytes.write(value);
+                return this;
+            }
+            if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+                return op(0x11, value & 0xFFFF);
+            }
+            return op(0x13, builder.integer(value));
+        }
+
+        Code branch(int opcode, Label target) {
+            if (target.position >= 0) {
+                throw new IllegalStateException("Desvios para trás não são suportados");
+            }
+            if (!target.isUsed()) {
+                labels.add(target);
+            }
+            target.fixups.add(new int[]{bytes.size()});
+            return op(opcode, 0);
+        }
+
+        Code bind(Label label) {
+            label.position = bytes.size();
+            if (label.isUsed()) {
+                frameTargets.add(label.position);
+            }
+            return this;
+        }
+
+        /** Resolve os desvios; deve ser chamado após todos os {@code bind}. */
+        Code resolve() {
+            byte[] code = bytes.toByteArray();
+            for (Label label : labels) {
+                for (int[] fixup : label.fixups) {
+                    int offset = label.position - fixup[0];
+                    if (label.position < 0 || offset > Short.MAX_VALUE) {
+                        throw new IllegalStateException("Desvio inválido ou longo demais");
+                    }
+                    code[fixup[0] + 1] = (byte) (offset >>> 8);
+                    code[fixup[0] + 2] = (byte) offset;
+                }
+            }
+            bytes.reset();
+            bytes.write(code, 0, code.length);
+            return this;
+        }
+
+        private byte[] stackMapTable() {
+            if (frameTargets.isEmpty()) {
+                return new byte[0];
+            }
+            ByteArrayOutputStream table = new ByteArrayOutputStream();
+            table.write(frameTargets.size() >>> 8);
+            table.write(frameTargets.size());
+            int previous = -1;
+            for (int target : frameTargets) {
+                int delta = previous < 0 ? target : target - previous - 1;
+                if (delta <= 63) {
+                    table.write(delta);
+                } else {
+                    table.write(251);
+                    table.write(delta >>> 8);
+                    table.write(delta);
+                }
+                previous = target;
+            }
+            return table.toByteArray();
+        }
+    }
+}
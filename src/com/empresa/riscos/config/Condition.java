@@ -0,0 +1,81 @@
+package com.empresa.riscos.config;
+
+/**
+ * Condição atômica de uma regra: {@code campo operador valor}.
+ * Para {@link Field#FRAUD_FLAG} o valor é 1 (verdadeiro) ou 0 (falso) e só {@code ==}/{@code !=} são aceitos.
+ */
+public final class Condition {
+    public enum Field {
+        SCORE("score"),
+        INCOME("income"),
+        FRAUD_FLAG("fraudFlag");
+
+        private final String token;
+
+        Field(String token) {
+            this.token = token;
+        }
+
+        public String token() {
+            return token;
+        }
+    }
+
+    public enum Operator {
+        GT(">"),
+        GE(">="),
+        LT("<"),
+        LE("<="),
+        EQ("=="),
+        NE("!=");
+
+        private final String symbol;
+
+        Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        public String symbol() {
+            return symbol;
+        }
+
+        public boolean test(double left, double right) {
+            switch (this) {
+                case GT: return left > right;
+                case GE: return left >= right;
+                case LT: return left < right;
+                case LE: return left <= right;
+                case EQ: return left == right;
+                default: return left != right;
+            }
+        }
+    }
+
+    private final Field field;
+    private final Operator operator;
+    private final double value;
+
+    public Condition(Field field, Operator operator, double value) {
+        if (field == Field.FRAUD_FLAG && (operator != Operator.EQ && operator != Operator.NE || value != 0 && value != 1)) {
+            throw new IllegalArgumentException("fraudFlag aceita apenas == ou != com true/false");
+        }
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Valor de condição não pode ser NaN");
+        }
+        this.field = field;
+        this.operator = operator;
+        this.value = value;
+    }
+
+    public Field getField() { return field; }
+    public Operator getOperator() { return operator; }
+    public double getValue() { return value; }
+
+    @Override
+    public String toString() {
+        if (field == Field.FRAUD_FLAG) {
+            return field.token() + " " + operator.symbol() + " " + (value != 0);
+        }
+        return field.token() + " " + operator.symbol() + " " + value;
+    }
+}
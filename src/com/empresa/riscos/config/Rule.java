@@ -0,0 +1,37 @@
+package com.empresa.riscos.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Regra de uma linha do arquivo: disjunção ({@code ||}) de conjunções ({@code &&}) de
+ * {@link Condition}s. O registro é aprovado pela regra se alguma conjunção for verdadeira.
+ */
+public final class Rule {
+    private final int line;
+    private final String source;
+    private final List<List<Condition>> disjuncts;
+
+    public Rule(int line, String source, List<List<Condition>> disjuncts) {
+        if (disjuncts.isEmpty() || disjuncts.stream().anyMatch(List::isEmpty)) {
+            throw new IllegalArgumentException("Regra vazia na linha " + line);
+        }
+        List<List<Condition>> copy = new ArrayList<>(disjuncts.size());
+        for (List<Condition> conjunction : disjuncts) {
+            copy.add(List.copyOf(conjunction));
+        }
+        this.line = line;
+        this.source = source;
+        this.disjuncts = Collections.unmodifiableList(copy);
+    }
+
+    public int getLine() { return line; }
+    public String getSource() { return source; }
+    public List<List<Condition>> getDisjuncts() { return disjuncts; }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,157 @@
+package com.empresa.riscos.config;
+
+import com.empresa.riscos.pipeline.RiskHandler;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * Compila regras em bytecode: gera uma subclasse de {@link RiskHandler} cujo
+ * {@code process} avalia todas as regras com os limites embutidos como constantes,
+ * e a carrega como hidden class.
+ * Justificativa: regras vindas de configuração executam como validadores escritos à mão,
+ * sem interpretador, e a classe pode ser descarregada quando o handler deixa de ser usado.
+ */
+public final class RuleCompiler {
+    private static final String CLASS_NAME = "com/empresa/riscos/config/CompiledRules";
+    private static final String HANDLER = "com/empresa/riscos/pipeline/RiskHandler";
+    private static final String ORDER_INDEPENDENT = "com/empresa/riscos/pipeline/OrderIndependent";
+    private static final String DATA = "com/empresa/riscos/model/FinancialData";
+
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ICONST_0 = 0x03;
+    private static final int ICONST_1 = 0x04;
+    private static final int I2D = 0x87;
+    private static final int DCMPL = 0x97;
+    private static final int DCMPG = 0x98;
+    private static final int IFEQ = 0x99;
+    private static final int IFNE = 0x9A;
+    private static final int IFLT = 0x9B;
+    private static final int IFGE = 0x9C;
+    private static final int IFGT = 0x9D;
+    private static final int IFLE = 0x9E;
+    private static final int IF_ICMPEQ = 0x9F;
+    private static final int IF_ICMPNE = 0xA0;
+    private static final int IF_ICMPLT = 0xA1;
+    private static final int IF_ICMPGE = 0xA2;
+    private static final int IF_ICMPGT = 0xA3;
+    private static final int IF_ICMPLE = 0xA4;
+    private static final int GOTO = 0xA7;
+    private static final int IRETURN = 0xAC;
+    private static final int RETURN = 0xB1;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int LDC2_W = 0x14;
+
+    private RuleCompiler() {
+    }
+
+    /** Gera e instancia o handler; todas as regras precisam aprovar. */
+    public static RiskHandler compile(List<Rule> rules) {
+        byte[] bytes = generate(rules);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return (RiskHandler) lookup.findConstructor(lookup.lookupClass(),
+                    MethodType.methodType(void.class)).invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Falha ao carregar regras compiladas", t);
+        }
+    }
+
+    static byte[] generate(List<Rule> rules) {
+        ClassFileBuilder builder = new ClassFileBuilder(
+                ClassFileBuilder.ACC_PUBLIC | ClassFileBuilder.ACC_FINAL | ClassFileBuilder.ACC_SUPER,
+                CLASS_NAME, HANDLER, ORDER_INDEPENDENT);
+
+        ClassFileBuilder.Code init = new ClassFileBuilder.Code(1, 1)
+                .op(ALOAD_0)
+                .op(INVOKESPECIAL, builder.methodRef(HANDLER, "<init>", "()V"))
+                .op(RETURN);
+        builder.addMethod(ClassFileBuilder.ACC_PUBLIC, "<init>", "()V", init);
+
+        ClassFileBuilder.Code code = new ClassFileBuilder.Code(4, 2);
+        ClassFileBuilder.Label fail = new ClassFileBuilder.Label();
+        for (Rule rule : rules) {
+            List<List<Condition>> disjuncts = rule.getDisjuncts();
+            ClassFileBuilder.Label ruleOk = new ClassFileBuilder.Label();
+            for (int d = 0; d < disjuncts.size(); d++) {
+                boolean last = d == disjuncts.size() - 1;
+                ClassFileBuilder.Label nextDisjunct = last ? fail : new ClassFileBuilder.Label();
+                for (Condition condition : disjuncts.get(d)) {
+                    emitCondition(builder, code, condition, nextDisjunct);
+                }
+                if (!last) {
+                    code.branch(GOTO, ruleOk);
+                    code.bind(nextDisjunct);
+                }
+            }
+            code.bind(ruleOk);
+        }
+        code.op(ICONST_1).op(IRETURN);
+        if (fail.isUsed()) {
+            code.bind(fail).op(ICONST_0).op(IRETURN);
+        }
+        code.resolve();
+        builder.addMethod(ClassFileBuilder.ACC_PROTECTED, "process", "(L" + DATA + ";)Z", code);
+        return builder.toByteArray();
+    }
+
+    /** Emite a condição desviando para {@code onFalse} quando ela não se verifica. */
+    private static void emitCondition(ClassFileBuilder builder, ClassFileBuilder.Code code,
+                                      Condition condition, ClassFileBuilder.Label onFalse) {
+        double value = condition.getValue();
+        Condition.Operator operator = condition.getOperator();
+        code.op(ALOAD_1);
+        switch (condition.getField()) {
+            case FRAUD_FLAG: {
+                code.op(INVOKEVIRTUAL, builder.methodRef(DATA, "isFraudFlag", "()Z"));
+                boolean expected = (operator == Condition.Operator.EQ) == (value != 0);
+                code.branch(expected ? IFEQ : IFNE, onFalse);
+                return;
+            }
+            case SCORE:
+                code.op(INVOKEVIRTUAL, builder.methodRef(DATA, "getScore", "()I"));
+                if (value == (int) value) {
+                    code.pushInt(builder, (int) value);
+                    code.branch(negatedIntCompare(operator), onFalse);
+                    return;
+                }
+                code.op(I2D);
+                break;
+            default:
+                code.op(INVOKEVIRTUAL, builder.methodRef(DATA, "getIncome", "()D"));
+                break;
+        }
+        code.op(LDC2_W, builder.doubleConstant(value));
+        // mesma escolha de dcmpl/dcmpg que o javac faz, para preservar a semântica de NaN
+        boolean lessThan = operator == Condition.Operator.LT || operator == Condition.Operator.LE;
+        code.op(lessThan ? DCMPG : DCMPL);
+        code.branch(negatedZeroCompare(operator), onFalse);
+    }
+
+    private static int negatedIntCompare(Condition.Operator operator) {
+        switch (operator) {
+            case GT: return IF_ICMPLE;
+            case GE: return IF_ICMPLT;
+            case LT: return IF_ICMPGE;
+            case LE: return IF_ICMPGT;
+            case EQ: return IF_ICMPNE;
+            default: return IF_ICMPEQ;
+        }
+    }
+
+    private static int negatedZeroCompare(Condition.Operator operator) {
+        switch (operator) {
+            case GT: return IFLE;
+            case GE: return IFLT;
+            case LT: return IFGE;
+            case LE: return IFGT;
+            case EQ: return IFNE;
+            default: return IFEQ;
+        }
+    }
+}
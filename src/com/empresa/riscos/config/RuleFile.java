@@ -0,0 +1,121 @@
+package com.empresa.riscos.config;
+
+import com.empresa.riscos.pipeline.RiskHandler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura do arquivo externo de regras (configuração dinâmica de pipeline).
+ *
+ * <pre>
+ * # comentário
+ * score &gt; 300                          (limite)
+ * income &gt;= 10000.50                   (limite)
+ * !fraudFlag                            (flag; também fraudFlag == false)
+ * score &gt;= 700 || income &gt; 50000 &amp;&amp; !fraudFlag   (booleana; &amp;&amp; antes de ||)
+ * </pre>
+ *
+ * Todas as regras precisam aprovar. O resultado é compilado por {@link RuleCompiler}.
+ */
+public final class RuleFile {
+    private RuleFile() {
+    }
+
+    /** Lê, valida e compila o arquivo em um único handler. */
+    public static RiskHandler load(Path file) throws IOException {
+        return RuleCompiler.compile(parse(file));
+    }
+
+    public static List<Rule> parse(Path file) throws IOException {
+        return parse(Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    public static List<Rule> parse(String text) {
+        List<Rule> rules = new ArrayList<>();
+        String[] lines = text.split("\r?\n", -1);
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int comment = line.indexOf('#');
+            String body = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (!body.isEmpty()) {
+                rules.add(parseRule(i + 1, body));
+            }
+        }
+        return rules;
+    }
+
+    private static Rule parseRule(int line, String body) {
+        List<List<Condition>> disjuncts = new ArrayList<>();
+        for (String disjunct : body.split("\\|\\|", -1)) {
+            List<Condition> conjunction = new ArrayList<>();
+            for (String term : disjunct.split("&&", -1)) {
+                conjunction.add(parseCondition(line, term.trim()));
+            }
+            disjuncts.add(conjunction);
+        }
+        return new Rule(line, body, disjuncts);
+    }
+
+    private static Condition parseCondition(int line, String term) {
+        if (term.equals(Condition.Field.FRAUD_FLAG.token())) {
+            return new Condition(Condition.Field.FRAUD_FLAG, Condition.Operator.EQ, 1);
+        }
+        if (term.startsWith("!") && term.substring(1).trim().equals(Condition.Field.FRAUD_FLAG.token())) {
+            return new Condition(Condition.Field.FRAUD_FLAG, Condition.Operator.EQ, 0);
+        }
+        Condition.Operator operator = null;
+        int at = -1;
+        // operadores de dois caracteres primeiro, para não confundir ">=" com ">"
+        for (Condition.Operator candidate : new Condition.Operator[]{
+                Condition.Operator.GE, Condition.Operator.LE, Condition.Operator.EQ,
+                Condition.Operator.NE, Condition.Operator.GT, Condition.Operator.LT}) {
+            at = term.indexOf(candidate.symbol());
+            if (at > 0) {
+                operator = candidate;
+                break;
+            }
+        }
+        if (operator == null) {
+            throw error(line, "condição inválida '" + term + "'");
+        }
+        String name = term.substring(0, at).trim();
+        String literal = term.substring(at + operator.symbol().length()).trim();
+        Condition.Field field = null;
+        for (Condition.Field candidate : Condition.Field.values()) {
+            if (candidate.token().equals(name)) {
+                field = candidate;
+            }
+        }
+        if (field == null) {
+            throw error(line, "campo desconhecido '" + name + "'");
+        }
+        if (field == Condition.Field.FRAUD_FLAG) {
+            if (!literal.equals("true") && !literal.equals("false")) {
+                throw error(line, "fraudFlag deve ser comparado com true ou false");
+            }
+            if (operator != Condition.Operator.EQ && operator != Condition.Operator.NE) {
+                throw error(line, "fraudFlag aceita apenas == ou !=");
+            }
+            return new Condition(field, operator, literal.equals("true") ? 1 : 0);
+        }
+        double value;
+        try {
+            value = Double.parseDouble(literal);
+        } catch (NumberFormatException e) {
+            throw error(line, "valor numérico inválido '" + literal + "'");
+        }
+        if (Double.isNaN(value)) {
+            throw error(line, "valor numérico inválido '" + literal + "'");
+        }
+        return new Condition(field, operator, value);
+    }
+
+    private static IllegalArgumentException error(int line, String message) {
+        return new IllegalArgumentException("Linha " + line + ": " + message);
+    }
+}
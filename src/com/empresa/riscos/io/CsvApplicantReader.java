@@ -0,0 +1,527 @@
+package com.empresa.riscos.io;
+
+import com.empresa.riscos.model.FinancialDataBatch;
+import com.empresa.riscos.service.DecisionSummary;
+import com.empresa.riscos.service.RiskProcessor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Leitor CSV em streaming para as colunas {@code score}, {@code income} e {@code fraudFlag}.
+ * Os bytes do canal são varridos em um buffer reutilizado e os campos inteiros, decimais e
+ * booleanos são convertidos no próprio buffer, direto para um {@link FinancialDataBatch}:
+ * sem {@code String.split}, sem {@code Double.parseDouble} e sem alocação por linha.
+ *
+ * <p>Campos entre aspas (com {@code ""} como escape) são aceitos. Com cabeçalho, as colunas
+ * são localizadas pelo nome (sem diferenciar maiúsculas); sem cabeçalho, são as três primeiras.
+ * Decimais com mais de 15 dígitos significativos, expoentes grandes ou formatos especiais
+ * caem no {@code Double.parseDouble}, que preserva o arredondamento correto.
+ */
+public final class CsvApplicantReader {
+    private static final int DEFAULT_BUFFER = 64 * 1024;
+    private static final int BATCH_RECORDS = 4096;
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    private final ReadableByteChannel channel;
+    private final byte delimiter;
+    private byte[] bytes;
+    private int pos;
+    private int limit;
+    private int lineStart;
+    private int lineEnd;
+    private long offset;
+    private boolean eof;
+    private long line;
+    private boolean headerPending;
+    private int scoreColumn;
+    private int incomeColumn;
+    private int fraudColumn;
+    private int lastColumn;
+
+    public CsvApplicantReader(ReadableByteChannel channel) {
+        this(channel, (byte) ',', true);
+    }
+
+    public CsvApplicantReader(ReadableByteChannel channel, byte delimiter, boolean header) {
+        this(channel, delimiter, DEFAULT_BUFFER);
+        this.headerPending = header;
+        setColumns(0, 1, 2);
+    }
+
+    private CsvApplicantReader(ReadableByteChannel channel, byte delimiter, int bufferSize) {
+        if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("Delimitador inválido");
+        }
+        this.channel = channel;
+        this.delimiter = delimiter;
+        this.bytes = new byte[bufferSize];
+    }
+
+    /** Leitor de um trecho sem cabeçalho, com as colunas já resolvidas por {@code template}. */
+    private CsvApplicantReader(ReadableByteChannel channel, CsvApplicantReader template) {
+        this(channel, template.delimiter, DEFAULT_BUFFER);
+        setColumns(template.scoreColumn, template.incomeColumn, template.fraudColumn);
+    }
+
+    /**
+     * Acrescenta ao lote até {@code maxRecords} registros.
+     *
+     * @return registros lidos, ou {@code -1} no fim do canal
+     */
+    public int read(FinancialDataBatch batch, int maxRecords) throws IOException {
+        int count = 0;
+        while (count < maxRecords && nextLine()) {
+            if (lineEnd == lineStart) {
+                continue;   // linha em branco
+            }
+            if (headerPending) {
+                parseHeader(lineStart, lineEnd);
+            } else {
+                parseRecord(lineStart, lineEnd, batch);
+                count++;
+            }
+        }
+        return count == 0 && maxRecords > 0 ? -1 : count;
+    }
+
+    /**
+     * Processa um arquivo CSV em paralelo: o arquivo é dividido em {@code parallelism} trechos
+     * ajustados para começar no início de uma linha, e cada trecho é lido e processado em lotes
+     * por uma thread. O arquivo deve ter cabeçalho e vírgula como delimitador, e campos entre
+     * aspas não podem conter quebras de linha.
+     */
+    public static DecisionSummary processFile(Path file, RiskProcessor processor, int parallelism) throws IOException {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Paralelismo deve ser positivo");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            CsvApplicantReader header = new CsvApplicantReader(new RangeChannel(channel, 0, size), (byte) ',', true);
+            if (!header.readHeader()) {
+                return new DecisionSummary();
+            }
+            long dataStart = header.offset + header.pos;
+            long[] bounds = new long[parallelism + 1];
+            bounds[0] = dataStart;
+            bounds[parallelism] = size;
+            for (int i = 1; i < parallelism; i++) {
+                long guess = dataStart + (size - dataStart) * i / parallelism;
+                bounds[i] = Math.max(bounds[i - 1], nextLineStart(channel, guess, size));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+            try {
+                List<Future<DecisionSummary>> parts = new ArrayList<>();
+                for (int i = 0; i < parallelism; i++) {
+                    if (bounds[i] < bounds[i + 1]) {
+                        CsvApplicantReader reader = new CsvApplicantReader(
+                                new RangeChannel(channel, bounds[i], bounds[i + 1]), header);
+                        parts.add(executor.submit(() -> reader.processAll(processor)));
+                    }
+                }
+                DecisionSummary total = new DecisionSummary();
+                for (Future<DecisionSummary> part : parts) {
+                    total.merge(part.get());
+                }
+                return total;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Processamento interrompido", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException("Falha ao processar trecho", e.getCause());
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private DecisionSummary processAll(RiskProcessor processor) throws IOException {
+        FinancialDataBatch batch = new FinancialDataBatch(BATCH_RECORDS);
+        long[] decisions = new long[BATCH_RECORDS];
+        DecisionSummary summary = new DecisionSummary();
+        int read;
+        while ((read = read(batch, BATCH_RECORDS)) >= 0) {
+            processor.processBatch(batch, decisions);
+            summary.record(decisions, read);
+            batch.clear();
+        }
+        return summary;
+    }
+
+    /** Consome o cabeçalho; devolve {@code false} se o canal terminar antes dele. */
+    private boolean readHeader() throws IOException {
+        while (headerPending && nextLine()) {
+            if (lineEnd > lineStart) {
+                parseHeader(lineStart, lineEnd);
+            }
+        }
+        return !headerPending;
+    }
+
+    /** Avança para a próxima linha completa, definindo {@code lineStart}/{@code lineEnd}. */
+    private boolean nextLine() throws IOException {
+        while (true) {
+            int end = findLineEnd();
+            if (end < 0) {
+                if (!eof) {
+                    fill();
+                    continue;
+                }
+                if (pos >= limit) {
+                    return false;
+                }
+                end = limit;   // última linha sem quebra
+            }
+            lineStart = pos;
+            lineEnd = end > pos && bytes[end - 1] == '\r' ? end - 1 : end;
+            pos = end < limit ? end + 1 : end;
+            line++;
+            return true;
+        }
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(8192);
+        long position = Math.max(0, from - 1);
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private int findLineEnd() {
+        boolean quoted = false;
+        for (int i = pos; i < limit; i++) {
+            byte b = bytes[i];
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void fill() throws IOException {
+        if (pos > 0) {
+            System.arraycopy(bytes, pos, bytes, 0, limit - pos);
+            offset += pos;
+            limit -= pos;
+            pos = 0;
+        }
+        if (limit == bytes.length) {
+            bytes = Arrays.copyOf(bytes, bytes.length * 2);   // linha maior que o buffer
+        }
+        int read = channel.read(ByteBuffer.wrap(bytes, limit, bytes.length - limit));
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    private void setColumns(int score, int income, int fraud) {
+        this.scoreColumn = score;
+        this.incomeColumn = income;
+        this.fraudColumn = fraud;
+        this.lastColumn = Math.max(score, Math.max(income, fraud));
+    }
+
+    private void parseHeader(int from, int to) {
+        int score = -1;
+        int income = -1;
+        int fraud = -1;
+        int column = 0;
+        for (int i = from; i <= to; column++) {
+            int[] field = field(i, to);
+            String name = new String(bytes, field[0], field[1] - field[0], StandardCharsets.UTF_8)
+                    .trim().toLowerCase(Locale.ROOT);
+            if (name.equals("score")) {
+                score = column;
+            } else if (name.equals("income")) {
+                income = column;
+            } else if (name.equals("fraudflag")) {
+                fraud = column;
+            }
+            i = field[2] + 1;
+        }
+        if (score < 0 || income < 0 || fraud < 0) {
+            throw error("cabeçalho precisa das colunas score, income e fraudFlag");
+        }
+        setColumns(score, income, fraud);
+        headerPending = false;
+    }
+
+    private void parseRecord(int from, int to, FinancialDataBatch batch) {
+        int score = 0;
+        double income = 0;
+        boolean fraud = false;
+        int column = 0;
+        int i = from;
+        while (column <= lastColumn) {
+            int start;
+            int end;
+            int next;
+            if (i < to && bytes[i] == '"') {
+                int j = i + 1;
+                while (j < to && !(bytes[j] == '"' && (j + 1 >= to || bytes[j + 1] != '"'))) {
+                    j += bytes[j] == '"' ? 2 : 1;
+                }
+                if (j >= to) {
+                    throw error("aspas sem fechamento");
+                }
+                start = i + 1;
+                end = j;
+                next = j + 1;
+                while (next < to && bytes[next] != delimiter) {
+                    next++;
+                }
+            } else {
+                start = i;
+                next = i;
+                while (next < to && bytes[next] != delimiter) {
+                    next++;
+                }
+                end = next;
+            }
+            if (column == scoreColumn) {
+                score = parseInt(start, end);
+            } else if (column == incomeColumn) {
+                income = parseDecimal(start, end);
+            } else if (column == fraudColumn) {
+                fraud = parseBoolean(start, end);
+            }
+            column++;
+            if (next >= to) {
+                break;
+            }
+            i = next + 1;
+        }
+        if (column <= lastColumn) {
+            throw error("colunas insuficientes");
+        }
+        batch.add(score, income, fraud);
+    }
+
+    /** Limites {início, fim, delimitador} de um campo do cabeçalho, sem as aspas. */
+    private int[] field(int from, int to) {
+        if (from < to && bytes[from] == '"') {
+            int close = from + 1;
+            while (close < to && bytes[close] != '"') {
+                close++;
+            }
+            int next = close;
+            while (next < to && bytes[next] != delimiter) {
+                next++;
+            }
+            return new int[]{from + 1, Math.min(close, to), next};
+        }
+        int next = from;
+        while (next < to && bytes[next] != delimiter) {
+            next++;
+        }
+        return new int[]{from, next, next};
+    }
+
+    private int parseInt(int from, int to) {
+        int start = skipSpaces(from, to);
+        int end = trimSpaces(start, to);
+        int i = start;
+        boolean negative = i < end && bytes[i] == '-';
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            i++;
+        }
+        if (i == end) {
+            throw error("inteiro inválido");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw error("inteiro inválido");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw error("inteiro fora do intervalo");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("inteiro fora do intervalo");
+        }
+        return (int) value;
+    }
+
+    private double parseDecimal(int from, int to) {
+        int start = skipSpaces(from, to);
+        int end = trimSpaces(start, to);
+        int i = start;
+        boolean negative = i < end && bytes[i] == '-';
+        if (i < end && (bytes[i] == '-' || bytes[i] == '+')) {
+            i++;
+        }
+        long mantissa = 0;
+        int exponent = 0;
+        boolean digits = false;
+        boolean truncated = false;
+        for (; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+            digits = true;
+            if (mantissa < 100_000_000_000_000_000L) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+            } else {
+                truncated = true;
+                exponent++;
+            }
+        }
+        if (i < end && bytes[i] == '.') {
+            for (i++; i < end && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+                digits = true;
+                if (mantissa < 100_000_000_000_000_000L) {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    exponent--;
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+        if (digits && i < end && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            int j = i + 1;
+            boolean negativeExponent = j < end && bytes[j] == '-';
+            if (j < end && (bytes[j] == '-' || bytes[j] == '+')) {
+                j++;
+            }
+            int value = 0;
+            int first = j;
+            for (; j < end && bytes[j] >= '0' && bytes[j] <= '9' && value < 10_000; j++) {
+                value = value * 10 + (bytes[j] - '0');
+            }
+            if (j > first) {
+                exponent += negativeExponent ? -value : value;
+                i = j;
+            }
+        }
+        // caminho rápido: mantissa e potência de 10 exatas, uma única operação arredondada
+        if (digits && i == end && !truncated && mantissa < (1L << 53) && Math.abs(exponent) < POW10.length) {
+            double value = exponent >= 0 ? mantissa * POW10[exponent] : mantissa / POW10[-exponent];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(bytes, start, end - start, StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            throw error("decimal inválido");
+        }
+    }
+
+    private boolean parseBoolean(int from, int to) {
+        int start = skipSpaces(from, to);
+        int end = trimSpaces(start, to);
+        int length = end - start;
+        if (length == 1 && (bytes[start] == '1' || bytes[start] == '0')) {
+            return bytes[start] == '1';
+        }
+        if (length == 4 && matches(start, "true")) {
+            return true;
+        }
+        if (length == 5 && matches(start, "false")) {
+            return false;
+        }
+        throw error("booleano inválido");
+    }
+
+    private boolean matches(int start, String word) {
+        for (int k = 0; k < word.length(); k++) {
+            if ((bytes[start + k] | 0x20) != word.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipSpaces(int from, int to) {
+        while (from < to && bytes[from] == ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private int trimSpaces(int from, int to) {
+        while (to > from && bytes[to - 1] == ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("Linha " + line + ": " + message);
+    }
+
+    /** Janela {@code [position, end)} de um arquivo, lida com leituras posicionais (thread-safe). */
+    private static final class RangeChannel implements ReadableByteChannel {
+        private final FileChannel file;
+        private final long end;
+        private long position;
+
+        RangeChannel(FileChannel file, long start, long end) {
+            this.file = file;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(ByteBuffer target) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int room = (int) Math.min(target.remaining(), end - position);
+            ByteBuffer window = target.duplicate();
+            window.limit(window.position() + room);
+            int read = file.read(window, position);
+            if (read > 0) {
+                position += read;
+                target.position(target.position() + read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return file.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // o FileChannel pertence a processFile
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.empresa.riscos.io;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Codificação binária de largura fixa para trocar clientes entre processos e arquivos
+ * sem o custo de parsing de CSV. Todos os valores são little-endian; o codec ajusta a
+ * ordem dos buffers recebidos.
+ *
+ * <pre>
+ * cabeçalho (16 bytes)  int magic "FRSK" | short versão | short bytes por registro | long quantidade
+ * registro  (12 bytes)  int (score &lt;&lt; 1 | fraudFlag) | double income
+ * </pre>
+ *
+ * Os métodos em lote decodificam direto em um {@link FinancialDataBatch}, sem objetos por registro.
+ */
+public final class FinancialDataCodec {
+    public static final int MAGIC = 'F' | 'R' << 8 | 'S' << 16 | 'K' << 24;
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_BYTES = 12;
+
+    static final int MIN_SCORE = Integer.MIN_VALUE >> 1;
+    static final int MAX_SCORE = Integer.MAX_VALUE >> 1;
+
+    private FinancialDataCodec() {
+    }
+
+    public static void writeHeader(ByteBuffer out, long count) {
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_BYTES).putLong(count);
+    }
+
+    /**
+     * Lê e valida o cabeçalho.
+     *
+     * @return quantidade de registros declarada
+     */
+    public static long readHeader(ByteBuffer in) {
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Arquivo não está no formato binário de clientes");
+        }
+        short version = in.getShort();
+        short recordBytes = in.getShort();
+        if (version != VERSION || recordBytes != RECORD_BYTES) {
+            throw new IllegalArgumentException("Versão de formato não suportada: " + version);
+        }
+        long count = in.getLong();
+        if (count < 0) {
+            throw new IllegalArgumentException("Quantidade de registros inválida: " + count);
+        }
+        return count;
+    }
+
+    public static void encode(FinancialData data, ByteBuffer out) {
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(packScore(data.getScore(), data.isFraudFlag())).putDouble(data.getIncome());
+    }
+
+    public static FinancialData decode(ByteBuffer in) {
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        int packed = in.getInt();
+        double income = in.getDouble();
+        return new FinancialData(packed >> 1, income, (packed & 1) != 0);
+    }
+
+    /** Codifica o lote inteiro a partir da posição atual de {@code out}. */
+    public static void encode(FinancialDataBatch batch, ByteBuffer out) {
+        int size = batch.size();
+        if (out.remaining() < (long) size * RECORD_BYTES) {
+            throw new IllegalArgumentException("Buffer sem espaço para " + size + " registros");
+        }
+        out.order(ByteOrder.LITTLE_ENDIAN);
+        int[] scores = batch.scores();
+        double[] incomes = batch.incomes();
+        long[] flags = batch.fraudFlags();
+        int position = out.position();
+        for (int i = 0; i < size; i++, position += RECORD_BYTES) {
+            boolean fraud = (flags[i >>> 6] & (1L << i)) != 0;
+            out.putInt(position, packScore(scores[i], fraud));
+            out.putDouble(position + 4, incomes[i]);
+        }
+        out.position(position);
+    }
+
+    /**
+     * Decodifica até {@code maxRecords} registros completos de {@code in}, acrescentando-os
+     * ao lote.
+     *
+     * @return quantidade de registros decodificados
+     */
+    public static int decode(ByteBuffer in, FinancialDataBatch batch, int maxRecords) {
+        in.order(ByteOrder.LITTLE_ENDIAN);
+        int count = Math.min(maxRecords, in.remaining() / RECORD_BYTES);
+        int position = in.position();
+        for (int i = 0; i < count; i++, position += RECORD_BYTES) {
+            int packed = in.getInt(position);
+            batch.add(packed >> 1, in.getDouble(position + 4), (packed & 1) != 0);
+        }
+        in.position(position);
+        return count;
+    }
+
+    /** Como {@link #decode(ByteBuffer, FinancialDataBatch, int)}, exigindo exatamente {@code records}. */
+    public static void decodeFully(ByteBuffer in, FinancialDataBatch batch, int records) {
+        if (in.remaining() < (long) records * RECORD_BYTES) {
+            throw new BufferUnderflowException();
+        }
+        decode(in, batch, records);
+    }
+
+    private static int packScore(int score, boolean fraudFlag) {
+        if (score < MIN_SCORE || score > MAX_SCORE) {
+            throw new IllegalArgumentException("Score fora do intervalo codificável: " + score);
+        }
+        return score << 1 | (fraudFlag ? 1 : 0);
+    }
+}
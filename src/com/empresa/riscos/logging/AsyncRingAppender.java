@@ -0,0 +1,100 @@
+package com.empresa.riscos.logging;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Appender assíncrono sobre um ring buffer pré-alocado (vários produtores, um consumidor).
+ * Produtores só reservam um slot com CAS e copiam referências, sem I/O nem bloqueio;
+ * uma thread daemon drena o buffer e escreve na saída. Com o buffer cheio, a mensagem
+ * é descartada e contabilizada em {@link #dropped()} em vez de travar a requisição.
+ */
+final class AsyncRingAppender {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final PrintStream out;
+    private final PrintStream err;
+    private volatile long head;
+
+    AsyncRingAppender(int capacity, PrintStream out, PrintStream err) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade do buffer de log deve ser potência de 2");
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot(i);
+        }
+        this.mask = capacity - 1;
+        this.out = out;
+        this.err = err;
+        Thread drainer = new Thread(this::drainLoop, "riscos-log-appender");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    void append(LogLevel level, String message) {
+        long claimed;
+        Slot slot;
+        do {
+            claimed = tail.get();
+            slot = slots[(int) claimed & mask];
+            if (slot.sequence != claimed) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slot.level = level;
+        slot.message = message;
+        slot.sequence = claimed + 1;
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /** Aguarda até que tudo que foi publicado antes da chamada tenha sido escrito. */
+    void flush(long timeoutNanos) {
+        long target = tail.get();
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (head < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+        out.flush();
+        err.flush();
+    }
+
+    private void drainLoop() {
+        long next = head;
+        while (true) {
+            Slot slot = slots[(int) next & mask];
+            if (slot.sequence != next + 1) {
+                out.flush();
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            LogLevel level = slot.level;
+            String message = slot.message;
+            slot.message = null;
+            slot.sequence = next + slots.length;
+            head = ++next;
+            (level.compareTo(LogLevel.WARN) >= 0 ? err : out).println(message);
+        }
+    }
+
+    private static final class Slot {
+        volatile long sequence;
+        LogLevel level;
+        String message;
+
+        Slot(long sequence) {
+            this.sequence = sequence;
+        }
+    }
+}
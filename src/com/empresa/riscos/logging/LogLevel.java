@@ -0,0 +1,13 @@
+package com.empresa.riscos.logging;
+
+/**
+ * Níveis de log em ordem crescente de severidade; {@link #OFF} desliga tudo.
+ */
+public enum LogLevel {
+    TRACE,
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF
+}
@@ -0,0 +1,81 @@
+package com.empresa.riscos.logging;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuração global de log dos pacotes {@code pipeline} e {@code strategy}.
+ *
+ * <ul>
+ *   <li>Nível ({@code -Driscos.log.level}, padrão INFO) publicado via {@link MutableCallSite}:
+ *       o JIT trata a checagem como constante e {@link #setLevel} custa uma desotimização.</li>
+ *   <li>Mensagens vão para um {@link AsyncRingAppender}, drenado por uma thread em segundo plano
+ *       ({@code -Driscos.log.bufferSize}, padrão 8192).</li>
+ *   <li>Modo silencioso ({@code -Driscos.log.silent=true}): {@link #SILENT} é {@code static final},
+ *       então o JIT elimina as chamadas de log por completo e nenhuma thread é criada.</li>
+ * </ul>
+ */
+public final class RiskLog {
+    public static final boolean SILENT = Boolean.getBoolean("riscos.log.silent");
+
+    private static final MutableCallSite LEVEL_SITE = new MutableCallSite(MethodHandles.constant(int.class,
+            LogLevel.valueOf(System.getProperty("riscos.log.level", LogLevel.INFO.name())).ordinal()));
+    private static final MethodHandle LEVEL = LEVEL_SITE.dynamicInvoker();
+    private static final AsyncRingAppender APPENDER = SILENT ? null
+            : new AsyncRingAppender(Integer.getInteger("riscos.log.bufferSize", 8192), System.out, System.err);
+
+    static {
+        if (APPENDER != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(RiskLog::flush, "riscos-log-flush"));
+        }
+    }
+
+    private RiskLog() {
+    }
+
+    public static RiskLogger getLogger(Class<?> owner) {
+        return new RiskLogger(owner.getName());
+    }
+
+    public static boolean isEnabled(LogLevel level) {
+        if (SILENT) {
+            return false;
+        }
+        try {
+            return level.ordinal() >= (int) LEVEL.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException("Falha ao ler nível de log", t);
+        }
+    }
+
+    public static LogLevel getLevel() {
+        try {
+            return LogLevel.values()[(int) LEVEL.invokeExact()];
+        } catch (Throwable t) {
+            throw new IllegalStateException("Falha ao ler nível de log", t);
+        }
+    }
+
+    public static synchronized void setLevel(LogLevel level) {
+        LEVEL_SITE.setTarget(MethodHandles.constant(int.class, level.ordinal()));
+        MutableCallSite.syncAll(new MutableCallSite[]{LEVEL_SITE});
+    }
+
+    /** Mensagens descartadas por buffer cheio. */
+    public static long droppedMessages() {
+        return APPENDER == null ? 0 : APPENDER.dropped();
+    }
+
+    /** Aguarda (até 1 s) a escrita das mensagens já publicadas. */
+    public static void flush() {
+        if (APPENDER != null) {
+            APPENDER.flush(TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    static void append(LogLevel level, String message) {
+        APPENDER.append(level, message);
+    }
+}
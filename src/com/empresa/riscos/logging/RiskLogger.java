@@ -0,0 +1,30 @@
+package com.empresa.riscos.logging;
+
+/**
+ * Logger dos pacotes {@code pipeline} e {@code strategy}. As mensagens são constantes
+ * e a checagem de nível não aloca; veja {@link RiskLog} para nível, modo silencioso e appender.
+ */
+public final class RiskLogger {
+    private final String name;
+
+    RiskLogger(String name) {
+        this.name = name;
+    }
+
+    public String getName() { return name; }
+
+    public boolean isDebugEnabled() { return RiskLog.isEnabled(LogLevel.DEBUG); }
+    public boolean isInfoEnabled() { return RiskLog.isEnabled(LogLevel.INFO); }
+
+    public void trace(String message) { log(LogLevel.TRACE, message); }
+    public void debug(String message) { log(LogLevel.DEBUG, message); }
+    public void info(String message) { log(LogLevel.INFO, message); }
+    public void warn(String message) { log(LogLevel.WARN, message); }
+    public void error(String message) { log(LogLevel.ERROR, message); }
+
+    private void log(LogLevel level, String message) {
+        if (RiskLog.isEnabled(level)) {
+            RiskLog.append(level, message);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.empresa.riscos.model;
+
+/**
+ * Campos de {@link FinancialData} vistos como valores numéricos, para análises que
+ * tratam validadores e estratégias como funções de limite (ex.: tabelas de decisão).
+ * A flag de fraude vale {@code 1} quando ligada e {@code 0} caso contrário.
+ */
+public enum ApplicantField {
+    SCORE {
+        @Override
+        public double valueOf(FinancialData data) {
+            return data.getScore();
+        }
+    },
+    INCOME {
+        @Override
+        public double valueOf(FinancialData data) {
+            return data.getIncome();
+        }
+    },
+    FRAUD_FLAG {
+        @Override
+        public double valueOf(FinancialData data) {
+            return data.isFraudFlag() ? 1 : 0;
+        }
+    };
+
+    public abstract double valueOf(FinancialData data);
+}
@@ -5,16 +5,26 @@ package com.empresa.riscos.model;
  * Pode ser expandido para incluir mais parâmetros (context object).
  */
 public class FinancialData {
+    /** Identificador usado quando o cliente não é identificado (sem estado por cliente). */
+    public static final long NO_CUSTOMER = 0L;
+
+    private long customerId;
     private int score;
     private double income;
     private boolean fraudFlag;
 
     public FinancialData(int score, double income, boolean fraudFlag) {
+        this(NO_CUSTOMER, score, income, fraudFlag);
+    }
+
+    public FinancialData(long customerId, int score, double income, boolean fraudFlag) {
+        this.customerId = customerId;
         this.score = score;
         this.income = income;
         this.fraudFlag = fraudFlag;
     }
 
+    public long getCustomerId() { return customerId; }
     public int getScore() { return score; }
     public double getIncome() { return income; }
     public boolean isFraudFlag() { return fraudFlag; }
@@ -0,0 +1,191 @@
+package com.empresa.riscos.model;
+
+import java.util.Arrays;
+
+/**
+ * Lote colunar (struct-of-arrays) de dados financeiros: ids de cliente em {@code long[]},
+ * scores em {@code int[]}, rendas em {@code double[]} e flags de fraude em um bitset {@code long[]}.
+ * Justificativa: com dezenas de milhões de registros, um objeto por cliente desperdiça
+ * memória com cabeçalhos e ponteiros; colunas contíguas são lidas sequencialmente.
+ *
+ * <p>{@link Cursor} é uma visão reutilizável (flyweight) que satisfaz os getters de
+ * {@link FinancialData}, então validadores e estratégias existentes funcionam sem mudanças.
+ */
+public final class FinancialDataBatch {
+    private long[] customerIds;
+    private int[] scores;
+    private double[] incomes;
+    private long[] fraudFlags;
+    private int size;
+
+    public FinancialDataBatch(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacidade negativa: " + capacity);
+        }
+        this.customerIds = new long[capacity];
+        this.scores = new int[capacity];
+        this.incomes = new double[capacity];
+        this.fraudFlags = new long[(capacity + 63) >>> 6];
+    }
+
+    public static FinancialDataBatch of(FinancialData... records) {
+        FinancialDataBatch batch = new FinancialDataBatch(records.length);
+        for (FinancialData record : records) {
+            batch.add(record);
+        }
+        return batch;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return scores.length;
+    }
+
+    /** Esvazia o lote mantendo as colunas alocadas, para reuso. */
+    public void clear() {
+        Arrays.fill(fraudFlags, 0, (size + 63) >>> 6, 0L);
+        size = 0;
+    }
+
+    public int add(FinancialData data) {
+        return add(data.getCustomerId(), data.getScore(), data.getIncome(), data.isFraudFlag());
+    }
+
+    public int add(int score, double income, boolean fraudFlag) {
+        return add(FinancialData.NO_CUSTOMER, score, income, fraudFlag);
+    }
+
+    /** Acrescenta um registro, crescendo as colunas se necessário; devolve o índice. */
+    public int add(long customerId, int score, double income, boolean fraudFlag) {
+        if (size == scores.length) {
+            grow();
+        }
+        int index = size++;
+        set(index, customerId, score, income, fraudFlag);
+        return index;
+    }
+
+    public void set(int index, int score, double income, boolean fraudFlag) {
+        set(index, FinancialData.NO_CUSTOMER, score, income, fraudFlag);
+    }
+
+    public void set(int index, long customerId, int score, double income, boolean fraudFlag) {
+        checkIndex(index);
+        customerIds[index] = customerId;
+        scores[index] = score;
+        incomes[index] = income;
+        if (fraudFlag) {
+            fraudFlags[index >>> 6] |= 1L << index;
+        } else {
+            fraudFlags[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+    public long getCustomerId(int index) {
+        checkIndex(index);
+        return customerIds[index];
+    }
+
+    public int getScore(int index) {
+        checkIndex(index);
+        return scores[index];
+    }
+
+    public double getIncome(int index) {
+        checkIndex(index);
+        return incomes[index];
+    }
+
+    public boolean isFraudFlag(int index) {
+        checkIndex(index);
+        return (fraudFlags[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /** Coluna de ids de cliente; somente os {@link #size()} primeiros elementos são válidos. */
+    public long[] customerIds() {
+        return customerIds;
+    }
+
+    /** Coluna de scores; somente os {@link #size()} primeiros elementos são válidos. */
+    public int[] scores() {
+        return scores;
+    }
+
+    /** Coluna de rendas; somente os {@link #size()} primeiros elementos são válidos. */
+    public double[] incomes() {
+        return incomes;
+    }
+
+    /** Bitset de fraude (bit {@code i} = registro {@code i}); bits além de {@link #size()} são zero. */
+    public long[] fraudFlags() {
+        return fraudFlags;
+    }
+
+    /** Nova visão posicionada no registro 0; reposicione com {@link Cursor#moveTo}. */
+    public Cursor cursor() {
+        return new Cursor(this);
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, scores.length + (scores.length >> 1));
+        customerIds = Arrays.copyOf(customerIds, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        incomes = Arrays.copyOf(incomes, capacity);
+        fraudFlags = Arrays.copyOf(fraudFlags, (capacity + 63) >>> 6);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora do lote");
+        }
+    }
+
+    /**
+     * Visão flyweight de um registro do lote. Não guarda dados próprios: os getters leem
+     * as colunas na posição atual, então a mesma instância percorre o lote inteiro.
+     */
+    public static final class Cursor extends FinancialData {
+        private final FinancialDataBatch batch;
+        private int index;
+
+        private Cursor(FinancialDataBatch batch) {
+            super(0, 0, false);
+            this.batch = batch;
+        }
+
+        public Cursor moveTo(int index) {
+            if (index < 0 || index >= batch.size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora do lote");
+            }
+            this.index = index;
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public long getCustomerId() {
+            return batch.customerIds[index];
+        }
+
+        @Override
+        public int getScore() {
+            return batch.scores[index];
+        }
+
+        @Override
+        public double getIncome() {
+            return batch.incomes[index];
+        }
+
+        @Override
+        public boolean isFraudFlag() {
+            return (batch.fraudFlags[index >>> 6] & (1L << index)) != 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.empresa.riscos.model;
+
+/**
+ * {@link FinancialData} regravável, para slots pré-alocados que são reutilizados a cada
+ * registro (ring buffers). Quem recebe uma instância não deve guardá-la: copie os campos.
+ */
+public final class MutableFinancialData extends FinancialData {
+    private long customerId;
+    private int score;
+    private double income;
+    private boolean fraudFlag;
+
+    public MutableFinancialData() {
+        super(0, 0, false);
+    }
+
+    public MutableFinancialData set(long customerId, int score, double income, boolean fraudFlag) {
+        this.customerId = customerId;
+        this.score = score;
+        this.income = income;
+        this.fraudFlag = fraudFlag;
+        return this;
+    }
+
+    public MutableFinancialData copyFrom(FinancialData data) {
+        return set(data.getCustomerId(), data.getScore(), data.getIncome(), data.isFraudFlag());
+    }
+
+    @Override
+    public long getCustomerId() {
+        return customerId;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public double getIncome() {
+        return income;
+    }
+
+    @Override
+    public boolean isFraudFlag() {
+        return fraudFlag;
+    }
+}
@@ -0,0 +1,207 @@
+package com.empresa.riscos.model;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Armazenamento off-heap de dados financeiros para carteiras de centenas de milhões de
+ * registros. Os dados ficam em buffers diretos, fora do heap: o GC não os percorre e o
+ * heap não cresce com a carteira.
+ *
+ * <p>Layout fixo de {@value #RECORD_BYTES} bytes por registro, em ordem nativa:
+ * <pre>
+ * offset 0  int     score
+ * offset 4  byte    fraudFlag (0/1), seguido de 3 bytes de alinhamento
+ * offset 8  double  income
+ * offset 16 long    customerId
+ * </pre>
+ * Os registros são divididos em blocos de {@code 2^22} registros (96 MB), pois um
+ * buffer é limitado a 2 GB. {@link View} é uma visão reutilizável que atende aos getters
+ * de {@link FinancialData}, permitindo percorrer o store sem alocar por registro.
+ *
+ * <p>Memória: toda a capacidade é reservada na construção ({@code capacity * 24} bytes;
+ * 100M registros = 2,4 GB) e conta no limite de memória direta da JVM, que por padrão é
+ * igual a {@code -Xmx}; acima dele a construção falha com {@link OutOfMemoryError}. Para
+ * carteiras maiores que o heap, ajuste {@code -XX:MaxDirectMemorySize}. Os blocos são
+ * {@link ByteBuffer}s diretos, não {@code MemorySegment}s de um {@code Arena} (prévia no
+ * JDK 19): a memória nativa só volta ao sistema quando o GC coleta os buffers, e não no
+ * {@link #close()}.
+ */
+public final class OffHeapFinancialStore implements AutoCloseable {
+    public static final int RECORD_BYTES = 24;
+    static final int SCORE_OFFSET = 0;
+    static final int FRAUD_OFFSET = 4;
+    static final int INCOME_OFFSET = 8;
+    static final int CUSTOMER_OFFSET = 16;
+
+    private static final int CHUNK_SHIFT = 22;
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+    private static final long CHUNK_MASK = CHUNK_RECORDS - 1;
+
+    private final ByteBuffer[] chunks;
+    private final long capacity;
+    private long size;
+    private boolean closed;
+
+    public OffHeapFinancialStore(long capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacidade negativa: " + capacity);
+        }
+        long chunkCount = (capacity + CHUNK_RECORDS - 1) >>> CHUNK_SHIFT;
+        if (chunkCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Capacidade grande demais: " + capacity);
+        }
+        this.capacity = capacity;
+        this.chunks = new ByteBuffer[(int) chunkCount];
+        for (int i = 0; i < chunks.length; i++) {
+            long records = Math.min(CHUNK_RECORDS, capacity - ((long) i << CHUNK_SHIFT));
+            chunks[i] = ByteBuffer.allocateDirect((int) records * RECORD_BYTES).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    public long add(FinancialData data) {
+        return add(data.getCustomerId(), data.getScore(), data.getIncome(), data.isFraudFlag());
+    }
+
+    public long add(int score, double income, boolean fraudFlag) {
+        return add(FinancialData.NO_CUSTOMER, score, income, fraudFlag);
+    }
+
+    public long add(long customerId, int score, double income, boolean fraudFlag) {
+        if (size == capacity) {
+            throw new IllegalStateException("Store cheio (capacidade " + capacity + ")");
+        }
+        long index = size++;
+        set(index, customerId, score, income, fraudFlag);
+        return index;
+    }
+
+    public void set(long index, int score, double income, boolean fraudFlag) {
+        set(index, FinancialData.NO_CUSTOMER, score, income, fraudFlag);
+    }
+
+    public void set(long index, long customerId, int score, double income, boolean fraudFlag) {
+        checkIndex(index);
+        ByteBuffer chunk = chunk(index);
+        int offset = offset(index);
+        chunk.putLong(offset + CUSTOMER_OFFSET, customerId);
+        chunk.putInt(offset + SCORE_OFFSET, score);
+        chunk.put(offset + FRAUD_OFFSET, (byte) (fraudFlag ? 1 : 0));
+        chunk.putDouble(offset + INCOME_OFFSET, income);
+    }
+
+    public long getCustomerId(long index) {
+        checkIndex(index);
+        return chunk(index).getLong(offset(index) + CUSTOMER_OFFSET);
+    }
+
+    public int getScore(long index) {
+        checkIndex(index);
+        return chunk(index).getInt(offset(index) + SCORE_OFFSET);
+    }
+
+    public double getIncome(long index) {
+        checkIndex(index);
+        return chunk(index).getDouble(offset(index) + INCOME_OFFSET);
+    }
+
+    public boolean isFraudFlag(long index) {
+        checkIndex(index);
+        return chunk(index).get(offset(index) + FRAUD_OFFSET) != 0;
+    }
+
+    /**
+     * Nova visão posicionada no registro 0 (ou sem registro, com o store vazio, até o
+     * primeiro {@link View#moveTo}); reposicione com {@link View#moveTo}.
+     */
+    public View view() {
+        View view = new View(this);
+        return size > 0 ? view.moveTo(0) : view;
+    }
+
+    /**
+     * Libera as referências aos buffers. A liberação não é determinística: a memória nativa
+     * só é devolvida quando o GC coletar os buffers (e as visões ainda vivas), e até lá
+     * continua contando no limite de memória direta. Acessos após o fechamento lançam
+     * {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        Arrays.fill(chunks, null);
+    }
+
+    private ByteBuffer chunk(long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index & CHUNK_MASK) * RECORD_BYTES;
+    }
+
+    private void checkIndex(long index) {
+        if (closed) {
+            throw new IllegalStateException("Store fechado");
+        }
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora do store");
+        }
+    }
+
+    /**
+     * Visão flyweight de um registro do store: {@link #moveTo} resolve bloco e offset uma
+     * vez e os getters leem direto da memória off-heap.
+     */
+    public static final class View extends FinancialData {
+        private final OffHeapFinancialStore store;
+        private ByteBuffer chunk;
+        private int offset;
+        private long index;
+
+        private View(OffHeapFinancialStore store) {
+            super(0, 0, false);
+            this.store = store;
+        }
+
+        public View moveTo(long index) {
+            store.checkIndex(index);
+            this.chunk = store.chunk(index);
+            this.offset = offset(index);
+            this.index = index;
+            return this;
+        }
+
+        public long index() {
+            return index;
+        }
+
+        @Override
+        public long getCustomerId() {
+            return chunk.getLong(offset + CUSTOMER_OFFSET);
+        }
+
+        @Override
+        public int getScore() {
+            return chunk.getInt(offset + SCORE_OFFSET);
+        }
+
+        @Override
+        public double getIncome() {
+            return chunk.getDouble(offset + INCOME_OFFSET);
+        }
+
+        @Override
+        public boolean isFraudFlag() {
+            return chunk.get(offset + FRAUD_OFFSET) != 0;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.empresa.riscos.pipeline;
+
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.state.CustomerState;
+
+/**
+ * Exemplo de validador com estado: conta as tentativas de cada cliente em um
+ * {@link CustomerState} e reprova a partir da tentativa {@code maxAttempts + 1}.
+ * Clientes sem identificação passam sem contagem. Com um {@code CustomerStateStore}
+ * compartilhado, a contagem é atômica; com uma {@code CustomerStateTable}, o validador
+ * deve ficar confinado a uma thread (ex.: um shard).
+ * Não é {@link OrderIndependent}: cada execução altera o estado do cliente.
+ */
+public class AttemptLimitValidator extends RiskHandler {
+    private static final RiskLogger LOG = RiskLog.getLogger(AttemptLimitValidator.class);
+
+    private final CustomerState store;
+    private final int maxAttempts;
+
+    public AttemptLimitValidator(CustomerState store, int maxAttempts) {
+        if (store.fields() <= CustomerState.ATTEMPTS) {
+            throw new IllegalArgumentException("O store precisa do campo de tentativas");
+        }
+        this.store = store;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public int reasonBits() {
+        return RejectReason.ATTEMPT_LIMIT;
+    }
+
+    @Override
+    protected boolean process(FinancialData data) {
+        LOG.info("Verificando limite de tentativas...");
+        long customerId = data.getCustomerId();
+        if (customerId == FinancialData.NO_CUSTOMER) {
+            return true;
+        }
+        return store.add(customerId, CustomerState.ATTEMPTS, 1) <= maxAttempts;
+    }
+}
@@ -1,14 +1,88 @@
 package com.empresa.riscos.pipeline;
 
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.ApplicantField;
 import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MutableCallSite;
 
 /**
  * Valida requisitos básicos (ex.: score mínimo).
  */
-public class BasicRiskValidator extends RiskHandler {
+public class BasicRiskValidator extends RiskHandler implements OrderIndependent, ThresholdHandler {
+    private static final RiskLogger LOG = RiskLog.getLogger(BasicRiskValidator.class);
+
+    private static final MutableCallSite MIN_SCORE_SITE = Thresholds.intSite("riscos.threshold.minScore", 300);
+    private static final MethodHandle MIN_SCORE = MIN_SCORE_SITE.dynamicInvoker();
+
+    /** Score mínimo atual (exclusivo); padrão 300 ou a propriedade {@code riscos.threshold.minScore}. */
+    public static int getMinScore() {
+        return Thresholds.intValue(MIN_SCORE);
+    }
+
+    /** Ajusta o limite em runtime; o código já compilado é desotimizado e recompilado. */
+    public static void setMinScore(int value) {
+        Thresholds.set(MIN_SCORE_SITE, value);
+    }
+
+    @Override
+    public int reasonBits() {
+        return RejectReason.LOW_SCORE;
+    }
+
+    @Override
+    public ApplicantField field() {
+        return ApplicantField.SCORE;
+    }
+
+    @Override
+    public double[] breakpoints() {
+        return new double[]{getMinScore()};
+    }
+
+    @Override
+    public boolean accepts(double value) {
+        return value > getMinScore();
+    }
+
     @Override
     protected boolean process(FinancialData data) {
-        System.out.println("Validando requisitos básicos...");
-        return data.getScore() > 300;
+        LOG.info("Validando requisitos básicos...");
+        return data.getScore() > getMinScore();
+    }
+
+    @Override
+    protected void processBatch(FinancialData[] batch, long[] survivors) {
+        LOG.info("Validando requisitos básicos...");
+        int minScore = getMinScore();
+        for (int w = 0; w < survivors.length; w++) {
+            long word = survivors[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (batch[(w << 6) + bit].getScore() <= minScore) {
+                    keep &= ~(1L << bit);
+                }
+            }
+            survivors[w] = keep;
+        }
+    }
+
+    @Override
+    protected void processBatch(FinancialDataBatch batch, long[] survivors) {
+        LOG.info("Validando requisitos básicos...");
+        LaneKernels.retainGreaterThan(batch.scores(), batch.size(), getMinScore(), survivors);
+    }
+
+    /**
+     * Kernel colunar deste validador: liga em {@code lanes} os registros aprovados
+     * entre os {@code length} primeiros de {@code scores}.
+     */
+    public static void kernel(int[] scores, int length, long[] lanes) {
+        LaneKernels.greaterThan(scores, length, getMinScore(), lanes);
     }
 }
@@ -1,14 +1,88 @@
 package com.empresa.riscos.pipeline;
 
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.ApplicantField;
 import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MutableCallSite;
 
 /**
  * Valida risco de crédito (ex.: renda mínima).
  */
-public class CreditRiskValidator extends RiskHandler {
+public class CreditRiskValidator extends RiskHandler implements OrderIndependent, ThresholdHandler {
+    private static final RiskLogger LOG = RiskLog.getLogger(CreditRiskValidator.class);
+
+    private static final MutableCallSite MIN_INCOME_SITE = Thresholds.doubleSite("riscos.threshold.minIncome", 10000);
+    private static final MethodHandle MIN_INCOME = MIN_INCOME_SITE.dynamicInvoker();
+
+    /** Renda mínima atual (exclusiva); padrão 10000 ou a propriedade {@code riscos.threshold.minIncome}. */
+    public static double getMinIncome() {
+        return Thresholds.doubleValue(MIN_INCOME);
+    }
+
+    /** Ajusta o limite em runtime; o código já compilado é desotimizado e recompilado. */
+    public static void setMinIncome(double value) {
+        Thresholds.set(MIN_INCOME_SITE, value);
+    }
+
+    @Override
+    public int reasonBits() {
+        return RejectReason.LOW_INCOME;
+    }
+
+    @Override
+    public ApplicantField field() {
+        return ApplicantField.INCOME;
+    }
+
+    @Override
+    public double[] breakpoints() {
+        return new double[]{getMinIncome()};
+    }
+
+    @Override
+    public boolean accepts(double value) {
+        return value > getMinIncome();
+    }
+
     @Override
     protected boolean process(FinancialData data) {
-        System.out.println("Validando risco de crédito...");
-        return data.getIncome() > 10000;
+        LOG.info("Validando risco de crédito...");
+        return data.getIncome() > getMinIncome();
+    }
+
+    @Override
+    protected void processBatch(FinancialData[] batch, long[] survivors) {
+        LOG.info("Validando risco de crédito...");
+        double minIncome = getMinIncome();
+        for (int w = 0; w < survivors.length; w++) {
+            long word = survivors[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (!(batch[(w << 6) + bit].getIncome() > minIncome)) {
+                    keep &= ~(1L << bit);
+                }
+            }
+            survivors[w] = keep;
+        }
+    }
+
+    @Override
+    protected void processBatch(FinancialDataBatch batch, long[] survivors) {
+        LOG.info("Validando risco de crédito...");
+        LaneKernels.retainGreaterThan(batch.incomes(), batch.size(), getMinIncome(), survivors);
+    }
+
+    /**
+     * Kernel colunar deste validador: liga em {@code lanes} os registros aprovados
+     * entre os {@code length} primeiros de {@code incomes}.
+     */
+    public static void kernel(double[] incomes, int length, long[] lanes) {
+        LaneKernels.greaterThan(incomes, length, getMinIncome(), lanes);
     }
 }
@@ -1,14 +1,66 @@
 package com.empresa.riscos.pipeline;
 
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.ApplicantField;
 import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
 
 /**
  * Verifica sinalizadores de fraude.
  */
-public class FraudRiskValidator extends RiskHandler {
+public class FraudRiskValidator extends RiskHandler implements OrderIndependent, ThresholdHandler {
+    private static final RiskLogger LOG = RiskLog.getLogger(FraudRiskValidator.class);
+
+    @Override
+    public int reasonBits() {
+        return RejectReason.FRAUD_FLAG;
+    }
+
+    @Override
+    public ApplicantField field() {
+        return ApplicantField.FRAUD_FLAG;
+    }
+
+    @Override
+    public double[] breakpoints() {
+        return new double[]{1};
+    }
+
+    @Override
+    public boolean accepts(double value) {
+        return value != 1;
+    }
+
     @Override
     protected boolean process(FinancialData data) {
-        System.out.println("Verificando risco de fraude...");
+        LOG.info("Verificando risco de fraude...");
         return !data.isFraudFlag();
     }
+
+    @Override
+    protected void processBatch(FinancialData[] batch, long[] survivors) {
+        LOG.info("Verificando risco de fraude...");
+        for (int w = 0; w < survivors.length; w++) {
+            long word = survivors[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (batch[(w << 6) + bit].isFraudFlag()) {
+                    keep &= ~(1L << bit);
+                }
+            }
+            survivors[w] = keep;
+        }
+    }
+
+    @Override
+    protected void processBatch(FinancialDataBatch batch, long[] survivors) {
+        LOG.info("Verificando risco de fraude...");
+        long[] flags = batch.fraudFlags();
+        for (int w = 0, words = Survivors.words(batch.size()); w < words; w++) {
+            survivors[w] &= ~flags[w];
+        }
+    }
 }
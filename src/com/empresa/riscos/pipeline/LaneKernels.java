@@ -0,0 +1,146 @@
+package com.empresa.riscos.pipeline;
+
+/**
+ * Kernels de comparação sobre colunas primitivas que produzem máscaras de lanes:
+ * o bit {@code i} de {@code lanes} indica que o elemento {@code i} atende ao limite.
+ *
+ * <p>Com o módulo {@code jdk.incubator.vector} carregado ({@code --add-modules
+ * jdk.incubator.vector}) e a classe {@code VectorLaneKernels} do diretório {@code src-vector}
+ * no classpath, as comparações usam {@code IntVector}/{@code DoubleVector}. Caso contrário,
+ * ou com {@code -Driscos.kernels.scalar=true}, vale o fallback escalar: blocos de 64 elementos
+ * sem desvios (comparação convertida em bit e acumulada na palavra). A escolha é feita uma
+ * vez, na carga da classe; {@link #isVectorized()} informa qual caminho está ativo.
+ */
+public final class LaneKernels {
+    static final boolean SCALAR = Boolean.getBoolean("riscos.kernels.scalar");
+    private static final Accelerated VECTOR = SCALAR ? null : loadVector();
+
+    private LaneKernels() {
+    }
+
+    /** {@code true} quando os kernels usam a Vector API. */
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    /** {@code lanes[i]} = {@code values[i] > threshold} para {@code i < length}. */
+    public static void greaterThan(int[] values, int length, int threshold, long[] lanes) {
+        checkBounds(values.length, length, lanes);
+        if (VECTOR != null) {
+            VECTOR.greaterThan(values, length, threshold, lanes);
+        } else {
+            greaterThanScalar(values, length, threshold, lanes);
+        }
+    }
+
+    /** {@code lanes[i]} = {@code values[i] > threshold} para {@code i < length}. */
+    public static void greaterThan(double[] values, int length, double threshold, long[] lanes) {
+        checkBounds(values.length, length, lanes);
+        if (VECTOR != null) {
+            VECTOR.greaterThan(values, length, threshold, lanes);
+        } else {
+            greaterThanScalar(values, length, threshold, lanes);
+        }
+    }
+
+    /** Desliga em {@code survivors} os elementos com {@code values[i] <= threshold}. */
+    public static void retainGreaterThan(int[] values, int length, int threshold, long[] survivors) {
+        checkBounds(values.length, length, survivors);
+        if (VECTOR != null) {
+            VECTOR.retainGreaterThan(values, length, threshold, survivors);
+        } else {
+            retainGreaterThanScalar(values, length, threshold, survivors);
+        }
+    }
+
+    /** Desliga em {@code survivors} os elementos com {@code !(values[i] > threshold)}. */
+    public static void retainGreaterThan(double[] values, int length, double threshold, long[] survivors) {
+        checkBounds(values.length, length, survivors);
+        if (VECTOR != null) {
+            VECTOR.retainGreaterThan(values, length, threshold, survivors);
+        } else {
+            retainGreaterThanScalar(values, length, threshold, survivors);
+        }
+    }
+
+    static void greaterThanScalar(int[] values, int length, int threshold, long[] lanes) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            lanes[w] = word(values, base, Math.min(64, length - base), threshold);
+        }
+    }
+
+    static void greaterThanScalar(double[] values, int length, double threshold, long[] lanes) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            lanes[w] = word(values, base, Math.min(64, length - base), threshold);
+        }
+    }
+
+    static void retainGreaterThanScalar(int[] values, int length, int threshold, long[] survivors) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            if (survivors[w] != 0) {
+                survivors[w] &= word(values, base, Math.min(64, length - base), threshold);
+            }
+        }
+    }
+
+    static void retainGreaterThanScalar(double[] values, int length, double threshold, long[] survivors) {
+        for (int base = 0, w = 0; base < length; base += 64, w++) {
+            if (survivors[w] != 0) {
+                survivors[w] &= word(values, base, Math.min(64, length - base), threshold);
+            }
+        }
+    }
+
+    private static long word(int[] values, int base, int n, int threshold) {
+        long limit = threshold;
+        long mask = 0;
+        for (int j = 0; j < n; j++) {
+            // (limit - v) é negativo exatamente quando v > limit; sem overflow em long
+            mask |= ((limit - values[base + j]) >>> 63) << j;
+        }
+        return mask;
+    }
+
+    private static long word(double[] values, int base, int n, double threshold) {
+        long mask = 0;
+        for (int j = 0; j < n; j++) {
+            mask |= (values[base + j] > threshold ? 1L : 0L) << j;
+        }
+        return mask;
+    }
+
+    private static void checkBounds(int columnLength, int length, long[] lanes) {
+        if (length < 0 || length > columnLength || lanes.length < Survivors.words(length)) {
+            throw new IllegalArgumentException("Tamanho inválido para a coluna ou para as lanes");
+        }
+    }
+
+    /**
+     * Sonda reflexiva: a implementação vetorial só é compilada com o módulo incubado, então
+     * este arquivo não pode referenciá-la diretamente.
+     */
+    private static Accelerated loadVector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return Class.forName("com.empresa.riscos.pipeline.VectorLaneKernels")
+                    .asSubclass(Accelerated.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /** Kernels vetoriais; mesmos contratos dos métodos públicos, limites já verificados. */
+    interface Accelerated {
+        void greaterThan(int[] values, int length, int threshold, long[] lanes);
+
+        void greaterThan(double[] values, int length, double threshold, long[] lanes);
+
+        void retainGreaterThan(int[] values, int length, int threshold, long[] survivors);
+
+        void retainGreaterThan(double[] values, int length, double threshold, long[] survivors);
+    }
+}
@@ -0,0 +1,9 @@
+package com.empresa.riscos.pipeline;
+
+/**
+ * Marcador para handlers sem efeitos colaterais relevantes e sem dependência de ordem:
+ * o resultado aprovado/reprovado da cadeia não muda se eles forem executados em outra
+ * posição entre si. Somente esses handlers são reordenados por {@link RiskPipeline#adaptive}.
+ */
+public interface OrderIndependent {
+}
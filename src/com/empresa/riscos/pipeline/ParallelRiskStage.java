@@ -0,0 +1,142 @@
+package com.empresa.riscos.pipeline;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Estágio que executa validadores independentes em paralelo (ex.: consultas a bureau e
+ * a serviços de score de fraude). Aprova somente quando todos aprovam; na primeira
+ * reprovação os demais são cancelados (com interrupção) e o estágio reprova.
+ * Encaixa-se na cadeia como qualquer outro handler, via {@code setNext}.
+ *
+ * <p>Cada ramo executa apenas o próprio {@code process}; para um ramo com vários
+ * handlers, use {@link RiskPipeline#freeze} da sub-cadeia.
+ */
+public class ParallelRiskStage extends RiskHandler {
+    private final Executor executor;
+    private final RiskHandler[] branches;
+
+    public ParallelRiskStage(Executor executor, RiskHandler... branches) {
+        if (branches.length == 0) {
+            throw new IllegalArgumentException("O estágio paralelo precisa de ao menos um ramo");
+        }
+        this.executor = executor;
+        this.branches = branches.clone();
+    }
+
+    /** Os ramos rodam em paralelo: o custo é o do ramo mais caro. */
+    @Override
+    public long estimatedCostNanos() {
+        long cost = 0;
+        for (RiskHandler branch : branches) {
+            cost = Math.max(cost, branch.estimatedCostNanos());
+        }
+        return cost;
+    }
+
+    /** União dos motivos dos ramos: o estágio não guarda qual ramo reprovou. */
+    @Override
+    public int reasonBits() {
+        int bits = 0;
+        for (RiskHandler branch : branches) {
+            bits |= branch.reasonBits();
+        }
+        return bits;
+    }
+
+    @Override
+    protected boolean process(FinancialData data) {
+        CompletionService<Boolean> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Boolean>> pending = new ArrayList<>(branches.length);
+        try {
+            for (RiskHandler branch : branches) {
+                pending.add(completion.submit(() -> branch.process(data)));
+            }
+            for (int i = 0; i < branches.length; i++) {
+                if (!completion.take().get()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            throw propagate(e);
+        } finally {
+            for (Future<Boolean> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /** Cada ramo processa uma cópia do bitset em paralelo; o resultado é a interseção. */
+    @Override
+    protected void processBatch(FinancialData[] batch, long[] survivors) {
+        fanOut(survivors, (branch, copy) -> branch.processBatch(batch, copy));
+    }
+
+    /**
+     * Como a versão com array: cada ramo lê o lote pelo próprio cursor, sem disputa de
+     * posição, e o lote inteiro vai a cada ramo numa única tarefa.
+     */
+    @Override
+    protected void processBatch(FinancialDataBatch batch, long[] survivors) {
+        fanOut(survivors, (branch, copy) -> branch.processBatch(batch, copy));
+    }
+
+    private void fanOut(long[] survivors, BiConsumer<RiskHandler, long[]> run) {
+        CompletionService<long[]> completion = new ExecutorCompletionService<>(executor);
+        List<Future<long[]>> pending = new ArrayList<>(branches.length);
+        try {
+            for (RiskHandler branch : branches) {
+                long[] copy = survivors.clone();
+                pending.add(completion.submit(() -> {
+                    run.accept(branch, copy);
+                    return copy;
+                }));
+            }
+            for (int i = 0; i < branches.length; i++) {
+                long[] result = completion.take().get();
+                boolean any = false;
+                for (int w = 0; w < survivors.length; w++) {
+                    survivors[w] &= result[w];
+                    any |= survivors[w] != 0;
+                }
+                if (!any) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Arrays.fill(survivors, 0L);
+        } catch (ExecutionException e) {
+            throw propagate(e);
+        } finally {
+            for (Future<long[]> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static RuntimeException propagate(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new IllegalStateException("Falha em ramo do estágio paralelo", cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.empresa.riscos.pipeline;
+
+/**
+ * Bits de motivo de reprovação informados por cada handler em {@link RiskHandler#reasonBits()}.
+ * Handlers customizados podem usar os bits a partir de {@link #CUSTOM}.
+ */
+public final class RejectReason {
+    public static final int UNSPECIFIED = 0;
+    public static final int LOW_SCORE = 1;
+    public static final int LOW_INCOME = 1 << 1;
+    public static final int FRAUD_FLAG = 1 << 2;
+    public static final int ATTEMPT_LIMIT = 1 << 3;
+    public static final int CUSTOM = 1 << 8;
+
+    private RejectReason() {
+    }
+}
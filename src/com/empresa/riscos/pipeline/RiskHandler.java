@@ -1,6 +1,7 @@
 package com.empresa.riscos.pipeline;
 
 import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
 
 /**
  * Chain of Responsibility base: cada handler processa e decide se passa adiante.
@@ -15,11 +16,98 @@ public abstract class RiskHandler {
         return next;
     }
 
+    /**
+     * Percorre a cadeia de forma iterativa: a profundidade de pilha é constante
+     * mesmo com milhares de handlers encadeados.
+     */
     public void handle(FinancialData data) {
-        if (process(data) && next != null) {
-            next.handle(data);
+        RiskHandler current = this;
+        while (current.process(data) && current.next != null) {
+            current = current.next;
         }
     }
 
+    /**
+     * Versão em lote da cadeia: cada handler percorre o lote inteiro antes do próximo,
+     * e o bitset {@code survivors} (ver {@link Survivors}) desce pela cadeia sendo
+     * atualizado in place. Ao final, os bits ligados são os registros aprovados.
+     */
+    public void handleBatch(FinancialData[] batch, long[] survivors) {
+        if (survivors.length < Survivors.words(batch.length)) {
+            throw new IllegalArgumentException("Bitset de sobreviventes menor que o lote");
+        }
+        RiskHandler current = this;
+        while (current != null && !Survivors.isEmpty(survivors)) {
+            current.processBatch(batch, survivors);
+            current = current.next;
+        }
+    }
+
+    /** Como {@link #handleBatch(FinancialData[], long[])}, sobre um lote colunar. */
+    public void handleBatch(FinancialDataBatch batch, long[] survivors) {
+        if (survivors.length < Survivors.words(batch.size())) {
+            throw new IllegalArgumentException("Bitset de sobreviventes menor que o lote");
+        }
+        RiskHandler current = this;
+        while (current != null && !Survivors.isEmpty(survivors)) {
+            current.processBatch(batch, survivors);
+            current = current.next;
+        }
+    }
+
+    /** Motivos ({@link RejectReason}) reportados quando este handler reprova um registro. */
+    public int reasonBits() {
+        return RejectReason.UNSPECIFIED;
+    }
+
+    /**
+     * Custo estimado de uma execução, em nanossegundos. Handlers baratos mantêm o padrão 0;
+     * os que fazem I/O ou cálculos pesados declaram o custo para que avaliações com prazo
+     * ({@link RiskPipeline#evaluate(FinancialData, long)}) consultem o relógio antes deles.
+     */
+    public long estimatedCostNanos() {
+        return 0;
+    }
+
     protected abstract boolean process(FinancialData data);
+
+    /**
+     * Aplica este handler aos registros ainda sobreviventes, desligando os reprovados.
+     * Subclasses podem sobrescrever com um laço especializado (call site monomórfico).
+     */
+    protected void processBatch(FinancialData[] batch, long[] survivors) {
+        for (int w = 0; w < survivors.length; w++) {
+            long word = survivors[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (!process(batch[(w << 6) + bit])) {
+                    keep &= ~(1L << bit);
+                }
+            }
+            survivors[w] = keep;
+        }
+    }
+
+    /**
+     * Versão colunar de {@link #processBatch(FinancialData[], long[])}. O padrão percorre
+     * os sobreviventes com um {@link FinancialDataBatch.Cursor}; validadores com kernel
+     * colunar sobrescrevem para operar direto sobre as colunas.
+     */
+    protected void processBatch(FinancialDataBatch batch, long[] survivors) {
+        FinancialDataBatch.Cursor cursor = batch.cursor();
+        for (int w = 0; w < survivors.length; w++) {
+            long word = survivors[w];
+            long keep = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (!process(cursor.moveTo((w << 6) + bit))) {
+                    keep &= ~(1L << bit);
+                }
+            }
+            survivors[w] = keep;
+        }
+    }
 }
@@ -0,0 +1,315 @@
+package com.empresa.riscos.pipeline;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pipeline "congelado": copia uma cadeia montada com {@code setNext} para um array
+ * final e executa os handlers em um laço simples, sem recursão.
+ * Justificativa: profundidade de pilha constante e call sites que o JIT consegue
+ * otimizar, mantendo a mesma semântica de aprovar/interromper da cadeia original.
+ *
+ * <p>No modo {@link #adaptive}, handlers {@link OrderIndependent} consecutivos são
+ * reordenados em runtime conforme custo e taxa de reprovação amostrados. A nova ordem
+ * é publicada de forma atômica (um plano imutável em campo volatile), sem locks no
+ * caminho das requisições. Índices devolvidos sempre se referem à ordem original.
+ */
+public final class RiskPipeline extends RiskHandler {
+    /** Resultado de {@link #evaluate} quando todos os handlers aprovam. */
+    public static final int PASSED = -1;
+    /** Base dos resultados de prazo esgotado: {@code DEADLINE_MISSED - índice}. */
+    private static final int DEADLINE_MISSED = -2;
+
+    private final RiskHandler[] handlers;
+    private final SelectivityProfile profile;
+    private volatile Plan plan;
+
+    private RiskPipeline(RiskHandler[] handlers, SelectivityProfile profile) {
+        this.handlers = handlers;
+        this.profile = profile;
+        int[] ids = new int[handlers.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        this.plan = new Plan(handlers.clone(), ids);
+    }
+
+    /**
+     * Congela a cadeia iniciada em {@code head}. Pipelines aninhados são achatados.
+     * Alterações posteriores via {@code setNext} não afetam o pipeline criado.
+     */
+    public static RiskPipeline freeze(RiskHandler head) {
+        if (head instanceof RiskPipeline && head.next == null) {
+            return (RiskPipeline) head;
+        }
+        return new RiskPipeline(flatten(head), null);
+    }
+
+    /**
+     * Como {@link #freeze}, mas amostra uma a cada {@code sampleRate} execuções e, a cada
+     * {@code reorderInterval} amostras, reordena os handlers {@link OrderIndependent}.
+     */
+    public static RiskPipeline adaptive(RiskHandler head, int sampleRate, int reorderInterval) {
+        RiskHandler[] stages = flatten(head);
+        return new RiskPipeline(stages, new SelectivityProfile(stages.length, sampleRate, reorderInterval));
+    }
+
+    private static RiskHandler[] flatten(RiskHandler head) {
+        if (head == null) {
+            throw new IllegalArgumentException("A cadeia de handlers não pode ser vazia");
+        }
+        List<RiskHandler> stages = new ArrayList<>();
+        Set<RiskHandler> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (RiskHandler current = head; current != null; current = current.next) {
+            if (!visited.add(current)) {
+                throw new IllegalArgumentException("Ciclo detectado na cadeia de handlers");
+            }
+            if (current instanceof RiskPipeline) {
+                Collections.addAll(stages, ((RiskPipeline) current).handlers);
+            } else {
+                stages.add(current);
+            }
+        }
+        return stages.toArray(new RiskHandler[0]);
+    }
+
+    /**
+     * Executa os handlers em ordem até o primeiro que reprovar.
+     *
+     * @return índice (na ordem original) do handler que interrompeu a cadeia, ou {@link #PASSED}
+     */
+    public int evaluate(FinancialData data) {
+        Plan current = plan;
+        if (profile != null && profile.shouldSample()) {
+            return evaluateSampled(current, data);
+        }
+        RiskHandler[] stages = current.stages;
+        for (int i = 0; i < stages.length; i++) {
+            if (!stages[i].process(data)) {
+                return current.ids[i];
+            }
+        }
+        return PASSED;
+    }
+
+    /**
+     * Como {@link #evaluate(FinancialData)}, mas antes de cada handler com
+     * {@link RiskHandler#estimatedCostNanos() custo declarado} verifica se ainda há tempo
+     * até {@code deadlineNanos} (referência {@link System#nanoTime()}). Handlers sem custo
+     * declarado não consultam o relógio. Avaliações com prazo não são amostradas.
+     *
+     * @return como {@link #evaluate(FinancialData)}; se o prazo não cobrir um handler, um valor
+     *         para o qual {@link #isDeadlineMiss} é verdadeiro (ver {@link #missedStage})
+     */
+    public int evaluate(FinancialData data, long deadlineNanos) {
+        Plan current = plan;
+        RiskHandler[] stages = current.stages;
+        for (int i = 0; i < stages.length; i++) {
+            long cost = current.costs[i];
+            if (cost > 0 && deadlineNanos - System.nanoTime() < cost) {
+                return DEADLINE_MISSED - current.ids[i];
+            }
+            if (!stages[i].process(data)) {
+                return current.ids[i];
+            }
+        }
+        return PASSED;
+    }
+
+    public static boolean isDeadlineMiss(int result) {
+        return result <= DEADLINE_MISSED;
+    }
+
+    /** Índice (ordem original) do handler que o prazo não cobriu. */
+    public static int missedStage(int result) {
+        return DEADLINE_MISSED - result;
+    }
+
+    private int evaluateSampled(Plan current, FinancialData data) {
+        RiskHandler[] stages = current.stages;
+        int result = PASSED;
+        for (int i = 0; i < stages.length; i++) {
+            long start = System.nanoTime();
+            boolean passed = stages[i].process(data);
+            profile.record(current.ids[i], passed, System.nanoTime() - start);
+            if (!passed) {
+                result = current.ids[i];
+                break;
+            }
+        }
+        if (profile.sampleCompleted()) {
+            reoptimize();
+        }
+        return result;
+    }
+
+    /**
+     * Recalcula a ordem dos handlers {@link OrderIndependent} a partir das amostras e
+     * publica o novo plano. Sem efeito em pipelines não adaptativos ou se outra thread
+     * já estiver reordenando.
+     */
+    public void reoptimize() {
+        if (profile == null || !profile.tryBeginReorder()) {
+            return;
+        }
+        try {
+            Plan current = plan;
+            RiskHandler[] stages = current.stages.clone();
+            int[] ids = current.ids.clone();
+            int runStart = 0;
+            while (runStart < stages.length) {
+                if (!(stages[runStart] instanceof OrderIndependent)) {
+                    runStart++;
+                    continue;
+                }
+                int runEnd = runStart;
+                while (runEnd < stages.length && stages[runEnd] instanceof OrderIndependent) {
+                    runEnd++;
+                }
+                sortByRank(stages, ids, runStart, runEnd);
+                runStart = runEnd;
+            }
+            plan = new Plan(stages, ids);
+        } finally {
+            profile.endReorder();
+        }
+    }
+
+    /** Insertion sort estável: os trechos reordenáveis costumam ser curtos. */
+    private void sortByRank(RiskHandler[] stages, int[] ids, int from, int to) {
+        double[] ranks = new double[to - from];
+        for (int i = from; i < to; i++) {
+            ranks[i - from] = profile.rank(ids[i]);
+        }
+        for (int i = from + 1; i < to; i++) {
+            RiskHandler stage = stages[i];
+            int id = ids[i];
+            double rank = ranks[i - from];
+            int j = i - 1;
+            while (j >= from && ranks[j - from] > rank) {
+                stages[j + 1] = stages[j];
+                ids[j + 1] = ids[j];
+                ranks[j + 1 - from] = ranks[j - from];
+                j--;
+            }
+            stages[j + 1] = stage;
+            ids[j + 1] = id;
+            ranks[j + 1 - from] = rank;
+        }
+    }
+
+    public int size() {
+        return handlers.length;
+    }
+
+    /** Ordem de execução vigente, como índices da ordem original. */
+    public int[] currentOrder() {
+        return plan.ids.clone();
+    }
+
+    /** Handler na posição {@code index} da ordem original. */
+    public RiskHandler handlerAt(int index) {
+        return handlers[index];
+    }
+
+    /**
+     * Executa somente o handler na posição {@code index} (ordem original), para motores
+     * que distribuem os estágios entre threads.
+     */
+    public boolean evaluateStage(int index, FinancialData data) {
+        return handlers[index].process(data);
+    }
+
+    /** Motivos de reprovação do handler na posição {@code index} (ordem original). */
+    public int reasonBitsOf(int index) {
+        return handlers[index].reasonBits();
+    }
+
+    @Override
+    public long estimatedCostNanos() {
+        long cost = 0;
+        for (RiskHandler stage : handlers) {
+            cost += stage.estimatedCostNanos();
+        }
+        return cost;
+    }
+
+    @Override
+    public int reasonBits() {
+        int bits = 0;
+        for (RiskHandler stage : handlers) {
+            bits |= stage.reasonBits();
+        }
+        return bits;
+    }
+
+    @Override
+    protected boolean process(FinancialData data) {
+        return evaluate(data) == PASSED;
+    }
+
+    @Override
+    protected void processBatch(FinancialData[] batch, long[] survivors) {
+        RiskHandler[] stages = plan.stages;
+        for (int i = 0; i < stages.length && !Survivors.isEmpty(survivors); i++) {
+            stages[i].processBatch(batch, survivors);
+        }
+    }
+
+    @Override
+    protected void processBatch(FinancialDataBatch batch, long[] survivors) {
+        RiskHandler[] stages = plan.stages;
+        for (int i = 0; i < stages.length && !Survivors.isEmpty(survivors); i++) {
+            stages[i].processBatch(batch, survivors);
+        }
+    }
+
+    /**
+     * Executa o lote colunar estágio a estágio e registra em {@code rejectedBy[i]} o índice
+     * (ordem original) do handler que reprovou o registro {@code i}, ou {@link #PASSED}.
+     * Ao final, {@code survivors} contém os aprovados.
+     */
+    public void evaluateBatch(FinancialDataBatch batch, long[] survivors, int[] rejectedBy) {
+        int size = batch.size();
+        if (survivors.length < Survivors.words(size) || rejectedBy.length < size) {
+            throw new IllegalArgumentException("Buffers menores que o lote");
+        }
+        Arrays.fill(rejectedBy, 0, size, PASSED);
+        Plan current = plan;
+        long[] before = new long[Survivors.words(size)];
+        for (int i = 0; i < current.stages.length && !Survivors.isEmpty(survivors); i++) {
+            System.arraycopy(survivors, 0, before, 0, before.length);
+            current.stages[i].processBatch(batch, survivors);
+            for (int w = 0; w < before.length; w++) {
+                long gone = before[w] & ~survivors[w];
+                while (gone != 0) {
+                    rejectedBy[(w << 6) + Long.numberOfTrailingZeros(gone)] = current.ids[i];
+                    gone &= gone - 1;
+                }
+            }
+        }
+    }
+
+    /** Ordem de execução imutável; trocada por inteiro a cada reordenação. */
+    private static final class Plan {
+        final RiskHandler[] stages;
+        final int[] ids;
+        final long[] costs;
+
+        Plan(RiskHandler[] stages, int[] ids) {
+            this.stages = stages;
+            this.ids = ids;
+            this.costs = new long[stages.length];
+            for (int i = 0; i < stages.length; i++) {
+                costs[i] = stages[i].estimatedCostNanos();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.empresa.riscos.pipeline;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Estatísticas amostradas de custo e taxa de reprovação por handler, usadas para ordenar
+ * predicados como um otimizador de consultas: menor custo por reprovação primeiro.
+ * As taxas são condicionais à ordem vigente (só handlers alcançados são medidos).
+ */
+final class SelectivityProfile {
+    private final int sampleRate;
+    private final int reorderInterval;
+    private final LongAdder[] evaluations;
+    private final LongAdder[] rejections;
+    private final LongAdder[] nanos;
+    private final LongAdder samples = new LongAdder();
+    private final AtomicBoolean reordering = new AtomicBoolean();
+
+    SelectivityProfile(int handlers, int sampleRate, int reorderInterval) {
+        if (sampleRate < 1 || reorderInterval < 1) {
+            throw new IllegalArgumentException("sampleRate e reorderInterval devem ser positivos");
+        }
+        this.sampleRate = sampleRate;
+        this.reorderInterval = reorderInterval;
+        this.evaluations = adders(handlers);
+        this.rejections = adders(handlers);
+        this.nanos = adders(handlers);
+    }
+
+    private static LongAdder[] adders(int size) {
+        LongAdder[] adders = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    boolean shouldSample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    void record(int id, boolean passed, long elapsedNanos) {
+        evaluations[id].increment();
+        nanos[id].add(elapsedNanos);
+        if (!passed) {
+            rejections[id].increment();
+        }
+    }
+
+    /** Conta uma amostra e indica se já há amostras suficientes para reordenar. */
+    boolean sampleCompleted() {
+        samples.increment();
+        return samples.sum() >= reorderInterval;
+    }
+
+    boolean tryBeginReorder() {
+        return reordering.compareAndSet(false, true);
+    }
+
+    void endReorder() {
+        samples.reset();
+        for (int i = 0; i < evaluations.length; i++) {
+            evaluations[i].reset();
+            rejections[i].reset();
+            nanos[i].reset();
+        }
+        reordering.set(false);
+    }
+
+    /**
+     * Custo médio por reprovação; menor é melhor. Handlers nunca medidos ou que nunca
+     * reprovaram ficam no fim, preservando a ordem relativa entre eles.
+     */
+    double rank(int id) {
+        long evals = evaluations[id].sum();
+        long rejects = rejections[id].sum();
+        if (evals == 0 || rejects == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double cost = (double) (nanos[id].sum() + evals) / evals;
+        return cost / ((double) rejects / evals);
+    }
+}
@@ -0,0 +1,55 @@
+package com.empresa.riscos.pipeline;
+
+import java.util.Arrays;
+
+/**
+ * Utilitários para o bitset de sobreviventes usado no processamento em lote.
+ * O bit {@code i} ligado indica que o registro {@code i} do lote ainda está aprovado.
+ */
+public final class Survivors {
+    private Survivors() {
+    }
+
+    /** Quantidade de palavras de 64 bits necessárias para {@code size} registros. */
+    public static int words(int size) {
+        return (size + 63) >>> 6;
+    }
+
+    /** Cria um bitset com os {@code size} primeiros bits ligados. */
+    public static long[] all(int size) {
+        long[] bits = new long[words(size)];
+        fill(bits, size);
+        return bits;
+    }
+
+    /** Reinicia um bitset existente com os {@code size} primeiros bits ligados. */
+    public static void fill(long[] bits, int size) {
+        int full = size >>> 6;
+        Arrays.fill(bits, 0, full, -1L);
+        if ((size & 63) != 0) {
+            bits[full++] = -1L >>> (64 - (size & 63));
+        }
+        Arrays.fill(bits, full, bits.length, 0L);
+    }
+
+    public static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public static boolean isEmpty(long[] bits) {
+        for (long word : bits) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static int count(long[] bits) {
+        int total = 0;
+        for (long word : bits) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,18 @@
+package com.empresa.riscos.pipeline;
+
+import com.empresa.riscos.model.ApplicantField;
+
+/**
+ * Handler cujo resultado depende de um único campo e só muda nos pontos de corte
+ * informados: entre dois pontos consecutivos (e fora deles) {@link #accepts} é constante.
+ * Implementações garantem que {@code process(data)} equivale a
+ * {@code accepts(field().valueOf(data))}, o que permite pré-calcular a cadeia inteira.
+ */
+public interface ThresholdHandler {
+    ApplicantField field();
+
+    /** Pontos de corte vigentes, finitos e em qualquer ordem. */
+    double[] breakpoints();
+
+    boolean accepts(double value);
+}
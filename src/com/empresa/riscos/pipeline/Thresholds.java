@@ -0,0 +1,74 @@
+package com.empresa.riscos.pipeline;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+
+/**
+ * Limites ajustáveis em runtime que o JIT ainda trata como constantes.
+ * Cada limite é um {@link MutableCallSite} cujo alvo é um {@code MethodHandles.constant};
+ * o invoker fica em um campo {@code static final} do validador, então o JIT embute o valor
+ * no código compilado. Um ajuste troca o alvo e custa uma desotimização dos métodos
+ * dependentes, em vez de uma leitura volatile por requisição.
+ */
+public final class Thresholds {
+    private static final MutableCallSite GENERATION_SITE = new MutableCallSite(MethodHandles.constant(long.class, 0L));
+    private static final MethodHandle GENERATION = GENERATION_SITE.dynamicInvoker();
+
+    private Thresholds() {
+    }
+
+    /**
+     * Contador incrementado a cada ajuste de limite. Estruturas pré-calculadas a partir
+     * dos limites (ex.: tabelas de decisão) o comparam para detectar que ficaram obsoletas;
+     * a leitura também é uma constante para o JIT.
+     */
+    public static long generation() {
+        try {
+            return (long) GENERATION.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException("Falha ao ler geração dos limites", t);
+        }
+    }
+
+    static MutableCallSite intSite(String property, int defaultValue) {
+        return new MutableCallSite(MethodHandles.constant(int.class, Integer.getInteger(property, defaultValue)));
+    }
+
+    static MutableCallSite doubleSite(String property, double defaultValue) {
+        String configured = System.getProperty(property);
+        double value = configured == null ? defaultValue : Double.parseDouble(configured);
+        return new MutableCallSite(MethodHandles.constant(double.class, value));
+    }
+
+    static int intValue(MethodHandle invoker) {
+        try {
+            return (int) invoker.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException("Falha ao ler limite", t);
+        }
+    }
+
+    static double doubleValue(MethodHandle invoker) {
+        try {
+            return (double) invoker.invokeExact();
+        } catch (Throwable t) {
+            throw new IllegalStateException("Falha ao ler limite", t);
+        }
+    }
+
+    static synchronized void set(MutableCallSite site, int value) {
+        site.setTarget(MethodHandles.constant(int.class, value));
+        GENERATION_SITE.setTarget(MethodHandles.constant(long.class, generation() + 1));
+        MutableCallSite.syncAll(new MutableCallSite[]{site, GENERATION_SITE});
+    }
+
+    static synchronized void set(MutableCallSite site, double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Limite não pode ser NaN");
+        }
+        site.setTarget(MethodHandles.constant(double.class, value));
+        GENERATION_SITE.setTarget(MethodHandles.constant(long.class, generation() + 1));
+        MutableCallSite.syncAll(new MutableCallSite[]{site, GENERATION_SITE});
+    }
+}
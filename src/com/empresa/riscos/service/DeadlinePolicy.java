@@ -0,0 +1,47 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.pipeline.RiskPipeline;
+import com.empresa.riscos.strategy.RiskStrategy;
+
+/**
+ * Caminho degradado de {@link RiskProcessor#process(FinancialData, long)} quando o prazo
+ * restante não cobre o próximo handler caro. A decisão produzida sempre recebe a marca
+ * {@link RiskDecision#isDegraded} e nunca é aprovada, pois handlers (possivelmente o de
+ * fraude) deixaram de rodar.
+ */
+public final class DeadlinePolicy {
+    private final RiskStrategy fallback;
+
+    private DeadlinePolicy(RiskStrategy fallback) {
+        this.fallback = fallback;
+    }
+
+    /**
+     * Decisão provisória: reprova atribuindo ao handler não executado, com seus motivos,
+     * para ser reavaliada depois. É a política padrão.
+     */
+    public static DeadlinePolicy provisionalRejection() {
+        return new DeadlinePolicy(null);
+    }
+
+    /**
+     * Classifica o cliente com uma estratégia conservadora (ex.: {@code HighRiskStrategy})
+     * numa decisão {@link RiskDecision#provisional provisória}: {@link RiskDecision#isApproved}
+     * é {@code false} e {@link RiskDecision#level} traz a classificação. Quem quiser seguir
+     * com o cliente deve tratar {@link RiskDecision#isDegraded} explicitamente.
+     */
+    public static DeadlinePolicy fallbackStrategy(RiskStrategy conservative) {
+        if (conservative == null) {
+            throw new IllegalArgumentException("A estratégia de contingência não pode ser nula");
+        }
+        return new DeadlinePolicy(conservative);
+    }
+
+    long decide(RiskPipeline pipeline, int missedStage, FinancialData data) {
+        int reasons = pipeline.reasonBitsOf(missedStage);
+        return fallback != null
+                ? RiskDecision.provisional(missedStage, reasons, fallback.evaluate(data))
+                : RiskDecision.degraded(RiskDecision.rejected(missedStage, reasons));
+    }
+}
@@ -0,0 +1,336 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.pipeline.Thresholds;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoização opcional na frente de {@link RiskProcessor}: clientes com entradas idênticas
+ * ({@code score}, {@code income}, {@code fraudFlag}) reutilizam a decisão já calculada.
+ *
+ * <ul>
+ *   <li>Chaves e valores primitivos, sem boxing; concorrência por segmentos (lock striping).</li>
+ *   <li>Limite de tamanho com política W-TinyLFU por segmento: janela LRU de admissão (1%)
+ *       e região principal SLRU (probatória/protegida); um candidato só entra na região
+ *       principal se sua frequência estimada superar a da vítima.</li>
+ *   <li>Invalidação automática quando {@link RiskProcessor#version()} muda (hot reload) ou
+ *       quando um limite é ajustado ({@link Thresholds#generation()}).</li>
+ *   <li>Métricas de acertos, faltas e remoções.</li>
+ * </ul>
+ *
+ * Só é correto para pipelines e estratégias cuja decisão depende exclusivamente desses três
+ * campos; handlers com estado por cliente não devem ser cacheados.
+ */
+public final class DecisionCache {
+    /** Nenhuma decisão válida tem os bits 57..63 ligados (ver {@link RiskDecision}). */
+    private static final long MISSING = -1L;
+
+    private final RiskProcessor processor;
+    private final Segment[] segments;
+    private final int segmentMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public DecisionCache(RiskProcessor processor, int maximumSize) {
+        this(processor, maximumSize, Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public DecisionCache(RiskProcessor processor, int maximumSize, int concurrency) {
+        if (maximumSize < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Tamanho máximo e concorrência devem ser positivos");
+        }
+        int count = Integer.highestOneBit(Math.min(Math.max(1, maximumSize / 16), Math.max(1, concurrency - 1) << 1));
+        this.processor = processor;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            int capacity = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+            segments[i] = new Segment(capacity);
+        }
+        this.segmentMask = count - 1;
+    }
+
+    /** Mesmo contrato de {@link RiskProcessor#process}, consultando o cache antes. */
+    public long process(FinancialData data) {
+        long packed = (long) data.getScore() << 1 | (data.isFraudFlag() ? 1 : 0);
+        long incomeBits = Double.doubleToLongBits(data.getIncome());
+        long mixed = mix(packed, incomeBits);
+        int hash = (int) mixed;
+        Segment segment = segments[(int) (mixed >>> 32) & segmentMask];
+        // ambos só crescem, então a soma muda sempre que qualquer um deles mudar
+        long version = processor.version() + Thresholds.generation();
+        long cached = segment.get(packed, incomeBits, hash, version);
+        if (cached != MISSING) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        // calculado fora do lock; a versão lida antes garante que um reload concorrente invalide a entrada
+        long decision = processor.process(data);
+        if (segment.put(packed, incomeBits, hash, decision, version)) {
+            evictions.increment();
+        }
+        return decision;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public double hitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear(segment.version());
+        }
+    }
+
+    private static long mix(long a, long b) {
+        long h = a * 0x9E3779B97F4A7C15L ^ b;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Segmento com tabela de endereçamento aberto (sondagem linear, remoção por deslocamento)
+     * sobre entradas em arrays primitivos ligadas em três listas LRU: janela, probatória e protegida.
+     */
+    private static final class Segment {
+        private static final byte WINDOW = 0;
+        private static final byte PROBATION = 1;
+        private static final byte PROTECTED = 2;
+
+        private final int windowCapacity;
+        private final int mainCapacity;
+        private final int protectedCapacity;
+        private final long[] keys;
+        private final long[] incomes;
+        private final long[] values;
+        private final int[] hashes;
+        private final int[] prev;
+        private final int[] next;
+        private final byte[] regions;
+        private final int[] heads = {-1, -1, -1};
+        private final int[] tails = {-1, -1, -1};
+        private final int[] sizes = new int[3];
+        private final int[] table;
+        private final int tableMask;
+        private final FrequencySketch sketch;
+        private int freeSlot;
+        private int used;
+        private long version = Long.MIN_VALUE;
+
+        Segment(int capacity) {
+            int size = Math.max(2, capacity);
+            this.windowCapacity = Math.max(1, size / 100);
+            this.mainCapacity = size - windowCapacity;
+            this.protectedCapacity = (int) (mainCapacity * 0.8);
+            int slots = size + 1;   // a inserção ocorre antes da remoção da vítima
+            this.keys = new long[slots];
+            this.incomes = new long[slots];
+            this.values = new long[slots];
+            this.hashes = new int[slots];
+            this.prev = new int[slots];
+            this.next = new int[slots];
+            this.regions = new byte[slots];
+            int tableSize = Integer.highestOneBit(slots * 2 - 1) << 1;
+            this.table = new int[tableSize];
+            this.tableMask = tableSize - 1;
+            this.sketch = new FrequencySketch(size);
+            resetFreeList();
+        }
+
+        synchronized long get(long key, long income, int hash, long currentVersion) {
+            checkVersion(currentVersion);
+            sketch.increment(hash);
+            int slot = find(key, income, hash);
+            if (slot < 0) {
+                return MISSING;
+            }
+            onHit(slot);
+            return values[slot];
+        }
+
+        /** Insere a decisão; devolve {@code true} se alguma entrada foi removida. */
+        synchronized boolean put(long key, long income, int hash, long value, long entryVersion) {
+            if (entryVersion != version) {
+                checkVersion(entryVersion);
+                if (entryVersion != version) {
+                    return false;   // versão já superada
+                }
+            }
+            int existing = find(key, income, hash);
+            if (existing >= 0) {
+                values[existing] = value;
+                return false;
+            }
+            int slot = freeSlot;
+            freeSlot = next[slot];
+            used++;
+            keys[slot] = key;
+            incomes[slot] = income;
+            values[slot] = value;
+            hashes[slot] = hash;
+            insertIndex(slot);
+            pushMru(WINDOW, slot);
+            if (sizes[WINDOW] <= windowCapacity) {
+                return false;
+            }
+            int candidate = tails[WINDOW];
+            unlink(candidate);
+            pushMru(PROBATION, candidate);
+            if (sizes[PROBATION] + sizes[PROTECTED] <= mainCapacity) {
+                return false;
+            }
+            // o candidato acabou de entrar na cabeça da lista probatória
+            int victim = sizes[PROBATION] > 1 ? tails[PROBATION] : tails[PROTECTED];
+            evict(sketch.frequency(hashes[candidate]) > sketch.frequency(hashes[victim]) ? victim : candidate);
+            return true;
+        }
+
+        synchronized int size() {
+            return used;
+        }
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized void clear(long newVersion) {
+            Arrays.fill(table, 0);
+            heads[0] = heads[1] = heads[2] = -1;
+            tails[0] = tails[1] = tails[2] = -1;
+            sizes[0] = sizes[1] = sizes[2] = 0;
+            used = 0;
+            sketch.clear();
+            resetFreeList();
+            version = newVersion;
+        }
+
+        private void checkVersion(long currentVersion) {
+            if (currentVersion > version) {
+                clear(currentVersion);
+            }
+        }
+
+        private void resetFreeList() {
+            for (int i = 0; i < keys.length; i++) {
+                next[i] = i + 1;
+            }
+            next[keys.length - 1] = -1;
+            freeSlot = 0;
+        }
+
+        private void onHit(int slot) {
+            byte region = regions[slot];
+            unlink(slot);
+            if (region != PROBATION) {
+                pushMru(region, slot);
+                return;
+            }
+            pushMru(PROTECTED, slot);
+            if (sizes[PROTECTED] > protectedCapacity) {
+                int demoted = tails[PROTECTED];
+                unlink(demoted);
+                pushMru(PROBATION, demoted);
+            }
+        }
+
+        private void evict(int slot) {
+            unlink(slot);
+            removeIndex(slot);
+            next[slot] = freeSlot;
+            freeSlot = slot;
+            used--;
+        }
+
+        private void pushMru(byte region, int slot) {
+            regions[slot] = region;
+            prev[slot] = -1;
+            next[slot] = heads[region];
+            if (heads[region] >= 0) {
+                prev[heads[region]] = slot;
+            } else {
+                tails[region] = slot;
+            }
+            heads[region] = slot;
+            sizes[region]++;
+        }
+
+        private void unlink(int slot) {
+            byte region = regions[slot];
+            if (prev[slot] >= 0) {
+                next[prev[slot]] = next[slot];
+            } else {
+                heads[region] = next[slot];
+            }
+            if (next[slot] >= 0) {
+                prev[next[slot]] = prev[slot];
+            } else {
+                tails[region] = prev[slot];
+            }
+            sizes[region]--;
+        }
+
+        private int find(long key, long income, int hash) {
+            for (int i = hash & tableMask; table[i] != 0; i = (i + 1) & tableMask) {
+                int slot = table[i] - 1;
+                if (keys[slot] == key && incomes[slot] == income) {
+                    return slot;
+                }
+            }
+            return -1;
+        }
+
+        private void insertIndex(int slot) {
+            int i = hashes[slot] & tableMask;
+            while (table[i] != 0) {
+                i = (i + 1) & tableMask;
+            }
+            table[i] = slot + 1;
+        }
+
+        private void removeIndex(int slot) {
+            int i = hashes[slot] & tableMask;
+            while (table[i] != slot + 1) {
+                i = (i + 1) & tableMask;
+            }
+            table[i] = 0;
+            for (int j = (i + 1) & tableMask; table[j] != 0; j = (j + 1) & tableMask) {
+                int home = hashes[table[j] - 1] & tableMask;
+                // move a entrada para o buraco se a posição de origem não estiver em (i, j]
+                boolean between = i <= j ? (home > i && home <= j) : (home > i || home <= j);
+                if (!between) {
+                    table[i] = table[j];
+                    table[j] = 0;
+                    i = j;
+                }
+            }
+        }
+    }
+}
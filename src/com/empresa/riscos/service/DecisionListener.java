@@ -0,0 +1,16 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+
+/**
+ * Recebe decisões de motores assíncronos, na thread do motor e na ordem de publicação.
+ * {@code data} pode ser um slot reutilizado: copie os campos se precisar guardá-los.
+ */
+public interface DecisionListener {
+    /** @param decision codificada conforme {@link RiskDecision} */
+    void onDecision(long sequence, FinancialData data, long decision);
+
+    /** Falha de um handler ou da estratégia; o registro não recebe decisão. */
+    default void onError(long sequence, FinancialData data, Throwable error) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.strategy.RiskLevel;
+
+import java.util.Arrays;
+
+/**
+ * Agregado de decisões ({@link RiskDecision}): aprovados por {@link RiskLevel},
+ * reprovados por handler e quantas foram degradadas por prazo. Não é thread-safe;
+ * cada thread acumula o seu e os parciais são combinados com {@link #merge}.
+ */
+public final class DecisionSummary {
+    private final long[] approvedByLevel = new long[RiskLevel.values().length];
+    private long[] rejectedByHandler = new long[8];
+    private long total;
+    private long degraded;
+
+    public void record(long decision) {
+        total++;
+        if (RiskDecision.isDegraded(decision)) {
+            degraded++;
+        }
+        if (RiskDecision.isApproved(decision)) {
+            approvedByLevel[RiskDecision.level(decision).code()]++;
+        } else {
+            int handler = RiskDecision.rejectingHandler(decision);
+            if (handler >= rejectedByHandler.length) {
+                rejectedByHandler = Arrays.copyOf(rejectedByHandler, Math.max(handler + 1, rejectedByHandler.length * 2));
+            }
+            rejectedByHandler[handler]++;
+        }
+    }
+
+    public void record(long[] decisions, int count) {
+        for (int i = 0; i < count; i++) {
+            record(decisions[i]);
+        }
+    }
+
+    public DecisionSummary merge(DecisionSummary other) {
+        total += other.total;
+        degraded += other.degraded;
+        for (int i = 0; i < approvedByLevel.length; i++) {
+            approvedByLevel[i] += other.approvedByLevel[i];
+        }
+        if (other.rejectedByHandler.length > rejectedByHandler.length) {
+            rejectedByHandler = Arrays.copyOf(rejectedByHandler, other.rejectedByHandler.length);
+        }
+        for (int i = 0; i < other.rejectedByHandler.length; i++) {
+            rejectedByHandler[i] += other.rejectedByHandler[i];
+        }
+        return this;
+    }
+
+    public long total() {
+        return total;
+    }
+
+    /** Decisões degradadas (aprovadas ou reprovadas) por prazo esgotado. */
+    public long degraded() {
+        return degraded;
+    }
+
+    public long approved() {
+        long sum = 0;
+        for (long count : approvedByLevel) {
+            sum += count;
+        }
+        return sum;
+    }
+
+    public long approved(RiskLevel level) {
+        return approvedByLevel[level.code()];
+    }
+
+    public long rejected() {
+        return total - approved();
+    }
+
+    /** Reprovações atribuídas ao handler de índice {@code handler} (ordem original). */
+    public long rejectedBy(int handler) {
+        return handler < rejectedByHandler.length ? rejectedByHandler[handler] : 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("total=").append(total).append(", aprovados=").append(approved());
+        for (RiskLevel level : RiskLevel.values()) {
+            text.append(", ").append(level).append('=').append(approved(level));
+        }
+        text.append(", reprovados=").append(rejected());
+        if (degraded > 0) {
+            text.append(", degradadas=").append(degraded);
+        }
+        for (int i = 0; i < rejectedByHandler.length; i++) {
+            if (rejectedByHandler[i] > 0) {
+                text.append(", handler[").append(i).append("]=").append(rejectedByHandler[i]);
+            }
+        }
+        return text.toString();
+    }
+}
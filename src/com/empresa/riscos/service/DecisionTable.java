@@ -0,0 +1,180 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.ApplicantField;
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.pipeline.RiskHandler;
+import com.empresa.riscos.pipeline.RiskPipeline;
+import com.empresa.riscos.pipeline.ThresholdHandler;
+import com.empresa.riscos.pipeline.Thresholds;
+import com.empresa.riscos.strategy.RiskStrategy;
+import com.empresa.riscos.strategy.ThresholdStrategy;
+
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * Pipeline e estratégia pré-calculados como tabela de decisões.
+ *
+ * <p>Quando todos os handlers são {@link ThresholdHandler} e a estratégia é
+ * {@link ThresholdStrategy}, os pontos de corte de cada campo dividem seu domínio em
+ * faixas: cada ponto, cada intervalo aberto entre pontos e uma faixa extra para NaN.
+ * A decisão de cada combinação de faixas é calculada uma vez sobre um valor
+ * representativo; em runtime basta uma busca binária por campo e um acesso ao array.
+ *
+ * <p>A tabela captura a ordem de execução e os limites vigentes na compilação; qualquer
+ * ajuste em {@link Thresholds} a torna obsoleta ({@link #isCurrent}). Os logs dos
+ * validadores e da estratégia não são emitidos no caminho da tabela.
+ */
+public final class DecisionTable {
+    /** Limite de células para não trocar uma cadeia curta por uma tabela enorme. */
+    private static final int MAX_CELLS = 1 << 20;
+    private static final ApplicantField[] FIELDS = ApplicantField.values();
+
+    private final double[][] points;
+    private final int[] strides;
+    private final long[] decisions;
+    private final long generation;
+
+    private DecisionTable(double[][] points, int[] strides, long[] decisions, long generation) {
+        this.points = points;
+        this.strides = strides;
+        this.decisions = decisions;
+        this.generation = generation;
+    }
+
+    /**
+     * Compila pipeline e estratégia.
+     *
+     * @return a tabela, ou {@code null} se algum handler ou a estratégia não for analisável,
+     *         se a tabela exceder o limite de tamanho ou se os limites mudarem durante a compilação
+     */
+    public static DecisionTable compile(RiskPipeline pipeline, RiskStrategy strategy) {
+        if (!(strategy instanceof ThresholdStrategy)) {
+            return null;
+        }
+        int[] order = pipeline.currentOrder();
+        ThresholdHandler[] stages = new ThresholdHandler[order.length];
+        for (int i = 0; i < order.length; i++) {
+            RiskHandler handler = pipeline.handlerAt(order[i]);
+            if (!(handler instanceof ThresholdHandler)) {
+                return null;
+            }
+            stages[i] = (ThresholdHandler) handler;
+        }
+        ThresholdStrategy policy = (ThresholdStrategy) strategy;
+        long generation = Thresholds.generation();
+
+        double[][] points = new double[FIELDS.length][];
+        for (ApplicantField field : FIELDS) {
+            TreeSet<Double> cuts = new TreeSet<>();
+            for (ThresholdHandler stage : stages) {
+                if (stage.field() == field) {
+                    addPoints(cuts, stage.breakpoints());
+                }
+            }
+            if (policy.field() == field) {
+                addPoints(cuts, policy.breakpoints());
+            }
+            points[field.ordinal()] = cuts.stream().mapToDouble(Double::doubleValue).toArray();
+        }
+
+        int[] strides = new int[FIELDS.length];
+        int[] bands = new int[FIELDS.length];
+        long cells = 1;
+        for (int f = 0; f < FIELDS.length; f++) {
+            bands[f] = points[f].length == 0 ? 1 : 2 * points[f].length + 2;
+            strides[f] = points[f].length == 0 ? 0 : (int) cells;
+            cells *= bands[f];
+            if (cells > MAX_CELLS) {
+                return null;
+            }
+        }
+
+        long[] decisions = new long[(int) cells];
+        double[] values = new double[FIELDS.length];
+        for (int cell = 0; cell < decisions.length; cell++) {
+            int rest = cell;
+            for (int f = 0; f < FIELDS.length; f++) {
+                values[f] = representative(points[f], rest % bands[f]);
+                rest /= bands[f];
+            }
+            decisions[cell] = decide(pipeline, order, stages, policy, values);
+        }
+        if (Thresholds.generation() != generation) {
+            return null;
+        }
+        return new DecisionTable(points, strides, decisions, generation);
+    }
+
+    /** {@code true} enquanto nenhum limite foi ajustado desde a compilação. */
+    public boolean isCurrent() {
+        return Thresholds.generation() == generation;
+    }
+
+    /** Decisão codificada conforme {@link RiskDecision}, igual à de {@link RiskProcessor#process}. */
+    public long decide(FinancialData data) {
+        int cell = 0;
+        for (int f = 0; f < FIELDS.length; f++) {
+            if (strides[f] != 0) {
+                cell += band(points[f], FIELDS[f].valueOf(data)) * strides[f];
+            }
+        }
+        return decisions[cell];
+    }
+
+    public int cells() {
+        return decisions.length;
+    }
+
+    private static long decide(RiskPipeline pipeline, int[] order, ThresholdHandler[] stages,
+                               ThresholdStrategy policy, double[] values) {
+        for (int i = 0; i < stages.length; i++) {
+            if (!stages[i].accepts(values[stages[i].field().ordinal()])) {
+                return RiskDecision.rejected(order[i], pipeline.reasonBitsOf(order[i]));
+            }
+        }
+        return RiskDecision.approved(policy.levelFor(values[policy.field().ordinal()]));
+    }
+
+    /** Faixa {@code 2i+1} é o ponto {@code i}; {@code 2i} o intervalo abaixo dele; a última é NaN. */
+    private static int band(double[] points, double value) {
+        if (value != value) {
+            return 2 * points.length + 1;
+        }
+        int found = Arrays.binarySearch(points, value + 0.0);   // normaliza -0.0
+        return found >= 0 ? 2 * found + 1 : 2 * (-found - 1);
+    }
+
+    private static double representative(double[] points, int band) {
+        int n = points.length;
+        if (n == 0) {
+            return 0;
+        }
+        if (band == 2 * n + 1) {
+            return Double.NaN;
+        }
+        if ((band & 1) == 1) {
+            return points[band >> 1];
+        }
+        int upper = band >> 1;
+        if (upper == 0) {
+            return Math.nextDown(points[0]);
+        }
+        if (upper == n) {
+            return Math.nextUp(points[n - 1]);
+        }
+        double low = points[upper - 1];
+        double high = points[upper];
+        double middle = low / 2 + high / 2;
+        return middle > low && middle < high ? middle : Math.nextUp(low);
+    }
+
+    private static void addPoints(TreeSet<Double> cuts, double[] breakpoints) {
+        for (double point : breakpoints) {
+            if (Double.isNaN(point) || Double.isInfinite(point)) {
+                throw new IllegalArgumentException("Ponto de corte deve ser finito: " + point);
+            }
+            cuts.add(point + 0.0);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupa chamadas individuais concorrentes em lotes para usar
+ * {@link RiskProcessor#processBatch} (caminho colunar dos validadores): um lote é
+ * despachado ao atingir {@code N} registros ou {@code T} microssegundos desde o primeiro
+ * registro, o que vier antes, e o futuro de cada chamador é completado com sua decisão.
+ *
+ * <p>{@code N} se ajusta no estilo AIMD para manter o p99 da latência (da submissão à
+ * decisão) abaixo do alvo: a cada {@value #ADJUST_EVERY} lotes, o p99 das últimas
+ * {@value #LATENCY_SAMPLES} requisições é comparado ao alvo; acima dele {@code N} cai pela
+ * metade, abaixo cresce em passos fixos até {@code maxBatch}. Enquanto um lote é
+ * processado, o seguinte continua enchendo; com {@code maxBatch} registros pendentes,
+ * quem submete espera.
+ */
+public final class MicroBatcher implements AutoCloseable {
+    private static final int LATENCY_SAMPLES = 1024;   // potência de 2
+    private static final int ADJUST_EVERY = 16;
+
+    private final RiskProcessor processor;
+    private final int maxBatch;
+    private final long maxWaitNanos;
+    private final long targetP99Nanos;
+    private final int increaseStep;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Thread flusher;
+
+    // guardados por lock
+    private Buffer filling;
+    private Buffer spare;
+    private boolean running = true;
+
+    // somente a thread de despacho
+    private final long[] decisions;
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyIndex;     // próxima posição, circular
+    private int latencySamples;   // amostras válidas, satura em LATENCY_SAMPLES
+    private long batches;
+
+    private volatile int batchLimit;
+    private volatile long lastP99Nanos;
+
+    /**
+     * @param maxBatch        tamanho máximo do lote ({@code N} adaptativo fica em {@code [1, maxBatch]})
+     * @param maxWaitMicros   espera máxima {@code T} desde o primeiro registro do lote
+     * @param targetP99Micros alvo de latência p99 por requisição
+     */
+    public MicroBatcher(RiskProcessor processor, int maxBatch, long maxWaitMicros, long targetP99Micros) {
+        if (maxBatch < 1 || maxWaitMicros < 0 || targetP99Micros < 1) {
+            throw new IllegalArgumentException("Parâmetros do micro-batcher inválidos");
+        }
+        this.processor = processor;
+        this.maxBatch = maxBatch;
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(maxWaitMicros);
+        this.targetP99Nanos = TimeUnit.MICROSECONDS.toNanos(targetP99Micros);
+        this.increaseStep = Math.max(1, maxBatch / 64);
+        this.batchLimit = maxBatch;
+        this.filling = new Buffer(maxBatch);
+        this.spare = new Buffer(maxBatch);
+        this.decisions = new long[maxBatch];
+        this.flusher = new Thread(this::flushLoop, "riscos-micro-batcher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Enfileira o registro no lote corrente.
+     *
+     * @return futuro completado com a decisão codificada conforme {@link RiskDecision}
+     */
+    public CompletableFuture<Long> submit(FinancialData data) throws InterruptedException {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        lock.lockInterruptibly();
+        try {
+            while (running && filling.size() >= maxBatch) {
+                notFull.await();
+            }
+            if (!running) {
+                throw new IllegalStateException("Micro-batcher encerrado");
+            }
+            int size = filling.add(data, future, System.nanoTime());
+            if (size == 1 || size >= batchLimit) {
+                pending.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return future;
+    }
+
+    /** Tamanho de lote {@code N} vigente. */
+    public int batchLimit() {
+        return batchLimit;
+    }
+
+    /** p99 medido no último ajuste, em microssegundos. */
+    public long lastP99Micros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastP99Nanos);
+    }
+
+    /** Despacha o que estiver pendente e encerra a thread de despacho. */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+            pending.signal();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            Buffer ready;
+            lock.lock();
+            try {
+                while (running && filling.size() == 0) {
+                    pending.awaitUninterruptibly();
+                }
+                if (filling.size() == 0) {
+                    return;   // encerrado e sem pendências
+                }
+                long deadline = filling.firstNanos + maxWaitNanos;
+                long remaining;
+                while (running && filling.size() < batchLimit && (remaining = deadline - System.nanoTime()) > 0) {
+                    try {
+                        pending.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        break;
+                    }
+                }
+                ready = filling;
+                filling = spare;
+                spare = ready;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                dispatch(ready);
+            } finally {
+                lock.lock();
+                try {
+                    ready.clear();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Processa o lote e completa os futuros. Qualquer falha, do pipeline ou do próprio
+     * despacho, completa os futuros pendentes com a exceção: a thread de despacho é única
+     * e não pode morrer deixando chamadores esperando.
+     */
+    private void dispatch(Buffer ready) {
+        int size = ready.size();
+        try {
+            processor.processBatch(ready.batch, decisions);
+            for (int i = 0; i < size; i++) {
+                ready.futures[i].complete(decisions[i]);
+            }
+            long now = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                latencies[latencyIndex] = now - ready.enqueuedNanos[i];
+                latencyIndex = (latencyIndex + 1) & (LATENCY_SAMPLES - 1);
+            }
+            latencySamples = Math.min(LATENCY_SAMPLES, latencySamples + size);
+            if (++batches % ADJUST_EVERY == 0) {
+                adjust();
+            }
+        } catch (Throwable t) {
+            for (int i = 0; i < size; i++) {
+                ready.futures[i].completeExceptionally(t);   // sem efeito nos já completados
+            }
+        }
+    }
+
+    /** Aumento aditivo / redução multiplicativa de {@code N} conforme o p99 recente. */
+    private void adjust() {
+        int count = latencySamples;
+        if (count == 0) {
+            return;
+        }
+        long[] window = Arrays.copyOf(latencies, count);
+        Arrays.sort(window);
+        long p99 = window[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)];
+        lastP99Nanos = p99;
+        int limit = batchLimit;
+        batchLimit = p99 > targetP99Nanos
+                ? Math.max(1, limit >> 1)
+                : Math.min(maxBatch, limit + increaseStep);
+    }
+
+    /** Lote em formação: registros em colunas, futuros e instantes de submissão. */
+    private static final class Buffer {
+        final FinancialDataBatch batch;
+        final CompletableFuture<Long>[] futures;
+        final long[] enqueuedNanos;
+        long firstNanos;
+
+        @SuppressWarnings("unchecked")
+        Buffer(int capacity) {
+            this.batch = new FinancialDataBatch(capacity);
+            this.futures = (CompletableFuture<Long>[]) new CompletableFuture<?>[capacity];
+            this.enqueuedNanos = new long[capacity];
+        }
+
+        int size() {
+            return batch.size();
+        }
+
+        int add(FinancialData data, CompletableFuture<Long> future, long now) {
+            int index = batch.add(data);
+            futures[index] = future;
+            enqueuedNanos[index] = now;
+            if (index == 0) {
+                firstNanos = now;
+            }
+            return index + 1;
+        }
+
+        void clear() {
+            Arrays.fill(futures, 0, batch.size(), null);
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.strategy.RiskLevel;
+
+/**
+ * Codificação primitiva (em um {@code long}) do resultado de {@link RiskProcessor#process}.
+ * Justificativa: devolver um primitivo evita alocar um objeto de resultado por chamada.
+ *
+ * <pre>
+ * bits  0..15  índice do handler que reprovou (0xFFFF = aprovado)
+ * bits 16..47  bits de motivo (RejectReason) do handler que reprovou
+ * bits 48..55  código do RiskLevel (0xFF = sem classificação)
+ * bit  56      decisão degradada (prazo esgotado, ver {@link DeadlinePolicy})
+ * </pre>
+ *
+ * <p>Uma decisão provisória ({@link #provisional}) não é aprovada: traz o handler que deixou
+ * de rodar, os motivos dele e a classificação conservadora, para reavaliação posterior.
+ */
+public final class RiskDecision {
+    private static final int NO_HANDLER = 0xFFFF;
+    private static final int NO_LEVEL = 0xFF;
+    private static final int REASON_SHIFT = 16;
+    private static final int LEVEL_SHIFT = 48;
+    private static final long DEGRADED = 1L << 56;
+
+    private RiskDecision() {
+    }
+
+    public static long approved(RiskLevel level) {
+        return NO_HANDLER | ((long) level.code() << LEVEL_SHIFT);
+    }
+
+    public static long rejected(int handlerIndex, int reasonBits) {
+        if (handlerIndex < 0 || handlerIndex >= NO_HANDLER) {
+            throw new IllegalArgumentException("Índice de handler fora do intervalo: " + handlerIndex);
+        }
+        return handlerIndex
+                | ((reasonBits & 0xFFFFFFFFL) << REASON_SHIFT)
+                | ((long) NO_LEVEL << LEVEL_SHIFT);
+    }
+
+    /**
+     * Pendente de validação: o handler {@code handlerIndex} (e os seguintes) não rodou, mas
+     * o cliente já recebeu a classificação {@code level}. Sempre degradada e nunca aprovada.
+     */
+    public static long provisional(int handlerIndex, int reasonBits, RiskLevel level) {
+        long rejected = rejected(handlerIndex, reasonBits) & ~((long) NO_LEVEL << LEVEL_SHIFT);
+        return degraded(rejected | ((long) level.code() << LEVEL_SHIFT));
+    }
+
+    /** Marca a decisão como produzida por um caminho degradado. */
+    public static long degraded(long decision) {
+        return decision | DEGRADED;
+    }
+
+    public static boolean isDegraded(long decision) {
+        return (decision & DEGRADED) != 0;
+    }
+
+    public static boolean isApproved(long decision) {
+        return (decision & NO_HANDLER) == NO_HANDLER;
+    }
+
+    /** Índice do handler que reprovou, ou {@code -1} se aprovado. */
+    public static int rejectingHandler(long decision) {
+        int index = (int) (decision & NO_HANDLER);
+        return index == NO_HANDLER ? -1 : index;
+    }
+
+    public static int reasonBits(long decision) {
+        return (int) (decision >>> REASON_SHIFT);
+    }
+
+    /**
+     * Classificação da estratégia, ou {@code null} se o registro foi reprovado. Decisões
+     * provisórias não são aprovadas, mas trazem a classificação conservadora.
+     */
+    public static RiskLevel level(long decision) {
+        int code = (int) (decision >>> LEVEL_SHIFT) & 0xFF;
+        return code == NO_LEVEL ? null : RiskLevel.fromCode(code);
+    }
+
+    public static String toString(long decision) {
+        RiskLevel level = level(decision);
+        String text = isApproved(decision)
+                ? "APROVADO(" + level + ")"
+                : (level == null ? "REPROVADO(" : "PENDENTE(" + level + ", ")
+                        + "handler=" + rejectingHandler(decision)
+                        + ", motivos=0x" + Integer.toHexString(reasonBits(decision)) + ")";
+        return isDegraded(decision) ? text + " [degradada]" : text;
+    }
+}
@@ -0,0 +1,140 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execução concorrente de {@link RiskProcessor} para pipelines com handlers que bloqueiam
+ * (I/O em serviços externos). Cada requisição roda em sua própria thread e um
+ * {@link Semaphore} limita quantas ficam em andamento; quem submete espera por uma
+ * vaga, o que dá backpressure natural.
+ *
+ * <p>No modo {@link #virtualThreads}, cada requisição usa uma thread virtual: milhares de
+ * avaliações podem aguardar um backend lento sem esgotar threads do sistema. O modo
+ * {@link #pooled} mantém um pool fixo de threads de plataforma, para comparação.
+ */
+public final class RiskDispatcher implements AutoCloseable {
+    private static final Method VIRTUAL_EXECUTOR = findVirtualExecutor();
+
+    private final RiskProcessor processor;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final boolean virtual;
+
+    private RiskDispatcher(RiskProcessor processor, ExecutorService executor, int maxConcurrency, boolean virtual) {
+        this.processor = processor;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+        this.virtual = virtual;
+    }
+
+    /**
+     * Uma thread virtual por requisição, no máximo {@code maxConcurrency} simultâneas.
+     *
+     * @throws UnsupportedOperationException se a JVM não oferecer threads virtuais
+     *         (no JDK 19 exigem {@code --enable-preview})
+     */
+    public static RiskDispatcher virtualThreads(RiskProcessor processor, int maxConcurrency) {
+        checkConcurrency(maxConcurrency);
+        if (VIRTUAL_EXECUTOR == null) {
+            throw new UnsupportedOperationException("Threads virtuais indisponíveis nesta JVM");
+        }
+        try {
+            return new RiskDispatcher(processor, (ExecutorService) VIRTUAL_EXECUTOR.invoke(null), maxConcurrency, true);
+        } catch (InvocationTargetException e) {
+            throw new UnsupportedOperationException("Threads virtuais indisponíveis nesta JVM", e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new UnsupportedOperationException("Threads virtuais indisponíveis nesta JVM", e);
+        }
+    }
+
+    /** Pool fixo de {@code threads} threads de plataforma; a concorrência é o próprio pool. */
+    public static RiskDispatcher pooled(RiskProcessor processor, int threads) {
+        checkConcurrency(threads);
+        return new RiskDispatcher(processor, Executors.newFixedThreadPool(threads), threads, false);
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_EXECUTOR != null;
+    }
+
+    /**
+     * Submete uma avaliação, aguardando uma vaga se o limite de concorrência foi atingido.
+     *
+     * @return decisão codificada conforme {@link RiskDecision}, ou falha com a exceção do pipeline
+     */
+    public CompletableFuture<Long> submit(FinancialData data) throws InterruptedException {
+        permits.acquire();
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                long decision;
+                try {
+                    decision = processor.process(data);
+                } catch (Throwable t) {
+                    permits.release();
+                    result.completeExceptionally(t);
+                    return;
+                }
+                permits.release();   // antes de completar: quem observa o resultado já vê a vaga livre
+                result.complete(decision);
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+        return result;
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtual;
+    }
+
+    /** Avaliações submetidas e ainda não concluídas. */
+    public int inFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * Recusa novas submissões e aguarda as que estão em andamento. Se a thread for
+     * interrompida durante a espera, as avaliações restantes são interrompidas.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            boolean terminated = false;
+            while (!terminated) {
+                terminated = executor.awaitTermination(1, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void checkConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concorrência deve ser positiva: " + maxConcurrency);
+        }
+    }
+
+    /** O projeto ainda compila sem a API final de threads virtuais; ela é resolvida em runtime. */
+    private static Method findVirtualExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
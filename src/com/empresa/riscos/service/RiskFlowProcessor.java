@@ -0,0 +1,204 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RiskProcessor} como {@link Flow.Processor} de clientes para decisões, com
+ * backpressure por demanda ponta a ponta.
+ *
+ * <ul>
+ *   <li>Upstream: no máximo {@code bufferSize} clientes são pedidos de antemão; a demanda é
+ *       reposta em lotes de metade do buffer, conforme os workers concluem.</li>
+ *   <li>{@code parallelism} workers avaliam os clientes e publicam via
+ *       {@link SubmissionPublisher#submit}, que bloqueia quando um assinante lento enche seu
+ *       buffer; o worker parado deixa de repor demanda e o produtor é freado.</li>
+ *   <li>Com mais de um worker, os resultados podem sair fora da ordem de entrada;
+ *       cada {@link RiskOutcome} carrega o próprio cliente.</li>
+ *   <li>Pedidos de demanda e o cancelamento chegam ao upstream por um único dreno
+ *       serializado, como exige a regra 2.7 de Reactive Streams.</li>
+ * </ul>
+ */
+public final class RiskFlowProcessor extends SubmissionPublisher<RiskOutcome>
+        implements Flow.Processor<FinancialData, RiskOutcome> {
+    /** Marca de fim no buffer de entrada, um por worker; só acelera o encerramento. */
+    private static final FinancialData END = new FinancialData(0, 0, false);
+    private static final long POLL_MILLIS = 10;
+
+    private final RiskProcessor processor;
+    private final int parallelism;
+    private final int bufferSize;
+    private final int replenishBatch;
+    private final BlockingQueue<FinancialData> inbox;
+    private final AtomicInteger consumed = new AtomicInteger();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final AtomicLong pendingDemand = new AtomicLong();
+    private final AtomicInteger signalWip = new AtomicInteger();
+    private volatile Flow.Subscription subscription;
+    private volatile Throwable upstreamError;
+    private volatile boolean inputFinished;
+    private volatile boolean cancelRequested;
+    private boolean cancelSent;   // somente dentro do dreno
+
+    public RiskFlowProcessor(RiskProcessor processor, int parallelism, int bufferSize) {
+        this(processor, parallelism, bufferSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param deliveryExecutor executor usado pelo {@link SubmissionPublisher} para entregar
+     *                         decisões aos assinantes (os workers têm threads próprias)
+     */
+    public RiskFlowProcessor(RiskProcessor processor, int parallelism, int bufferSize, Executor deliveryExecutor) {
+        super(deliveryExecutor, bufferSize);
+        if (parallelism < 1 || bufferSize < 2) {
+            throw new IllegalArgumentException("Paralelismo deve ser positivo e buffer de pelo menos 2");
+        }
+        this.processor = processor;
+        this.parallelism = parallelism;
+        this.bufferSize = bufferSize;
+        this.replenishBatch = bufferSize / 2;
+        this.inbox = new ArrayBlockingQueue<>(bufferSize + parallelism);
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        synchronized (this) {
+            if (this.subscription != null) {
+                subscription.cancel();
+                return;
+            }
+            this.subscription = subscription;
+        }
+        activeWorkers.set(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            Thread worker = new Thread(this::work, "riscos-flow-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        requestUpstream(bufferSize);
+    }
+
+    @Override
+    public void onNext(FinancialData item) {
+        if (inputFinished) {
+            return;
+        }
+        if (!inbox.offer(item)) {
+            // só acontece se o upstream ignorar a demanda pedida
+            cancelUpstream();
+            onError(new IllegalStateException("Upstream enviou além da demanda solicitada"));
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        upstreamError = throwable;
+        finishInput();
+    }
+
+    @Override
+    public void onComplete() {
+        finishInput();
+    }
+
+    /**
+     * Sinaliza o fim da entrada. Os workers saem pelo sinalizador quando o buffer esvazia;
+     * as marcas só os acordam mais cedo e podem ser descartadas com o buffer cheio.
+     */
+    private void finishInput() {
+        inputFinished = true;
+        for (int i = 0; i < parallelism; i++) {
+            inbox.offer(END);
+        }
+    }
+
+    private void requestUpstream(long n) {
+        pendingDemand.addAndGet(n);
+        drainSignals();
+    }
+
+    private void cancelUpstream() {
+        cancelRequested = true;
+        drainSignals();
+    }
+
+    /** Só uma thread por vez fala com a assinatura; as demais deixam o sinal para ela. */
+    private void drainSignals() {
+        if (signalWip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            if (cancelRequested) {
+                pendingDemand.set(0);
+                if (!cancelSent) {
+                    cancelSent = true;
+                    subscription.cancel();
+                }
+            } else {
+                long n = pendingDemand.getAndSet(0);
+                if (n > 0) {
+                    subscription.request(n);
+                }
+            }
+            missed = signalWip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void work() {
+        try {
+            while (true) {
+                FinancialData data = inbox.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (data == END) {
+                    break;
+                }
+                if (data == null) {
+                    if (inputFinished && inbox.isEmpty()) {
+                        break;
+                    }
+                    continue;
+                }
+                long decision;
+                try {
+                    decision = processor.process(data);
+                } catch (Throwable t) {
+                    cancelUpstream();
+                    closeExceptionally(t);
+                    inbox.clear();
+                    finishInput();
+                    return;
+                }
+                submit(new RiskOutcome(data, decision));   // bloqueia com assinantes saturados
+                if (consumed.incrementAndGet() >= replenishBatch) {
+                    int granted = consumed.getAndSet(0);
+                    if (granted > 0) {
+                        requestUpstream(granted);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IllegalStateException e) {
+            // publisher já fechado por outro worker
+        } finally {
+            if (activeWorkers.decrementAndGet() == 0) {
+                // sem efeito se um worker já fechou com a falha dele
+                Throwable error = upstreamError;
+                if (error != null) {
+                    closeExceptionally(error);
+                } else {
+                    close();
+                }
+            }
+        }
+    }
+}
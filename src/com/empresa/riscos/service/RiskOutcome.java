@@ -0,0 +1,35 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+
+/**
+ * Par imutável (cliente, decisão) emitido por interfaces orientadas a objetos, como
+ * {@link RiskFlowProcessor}, onde o {@code long} sozinho não identificaria o registro.
+ */
+public final class RiskOutcome {
+    private final FinancialData data;
+    private final long decision;
+
+    public RiskOutcome(FinancialData data, long decision) {
+        this.data = data;
+        this.decision = decision;
+    }
+
+    public FinancialData getData() {
+        return data;
+    }
+
+    /** Decisão codificada conforme {@link RiskDecision}. */
+    public long getDecision() {
+        return decision;
+    }
+
+    public boolean isApproved() {
+        return RiskDecision.isApproved(decision);
+    }
+
+    @Override
+    public String toString() {
+        return RiskDecision.toString(decision);
+    }
+}
@@ -1,24 +1,361 @@
 package com.empresa.riscos.service;
 
 import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.FinancialDataBatch;
+import com.empresa.riscos.model.OffHeapFinancialStore;
 import com.empresa.riscos.pipeline.RiskHandler;
+import com.empresa.riscos.pipeline.RiskPipeline;
+import com.empresa.riscos.pipeline.Survivors;
 import com.empresa.riscos.strategy.RiskStrategy;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
 /**
  * Componente que orquestra pipeline (Chain of Responsibility) e política (Strategy).
  * Demonstra injeção por construtor e separação de responsabilidades (SRP, D of SOLID).
+ *
+ * <p>Pipeline e estratégia formam um snapshot imutável que pode ser trocado em runtime
+ * ({@link #reload}) no estilo RCU: cada chamada lê o snapshot uma única vez (leitura
+ * acquire) e termina nele, mesmo que uma troca aconteça no meio; não há locks no
+ * caminho de leitura e o warm-up do JIT não se perde reiniciando a JVM.
+ *
+ * <p>Com {@link #compileDecisionTable}, o snapshot também carrega uma {@link DecisionTable}
+ * e {@link #process} passa a responder por consulta enquanto os limites não mudarem.
  */
 public class RiskProcessor {
-    private final RiskHandler handler;
-    private final RiskStrategy strategy;
+    private static final VarHandle CURRENT;
+
+    static {
+        try {
+            CURRENT = MethodHandles.lookup().findVarHandle(RiskProcessor.class, "current", Snapshot.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @SuppressWarnings("unused") // acessado via CURRENT
+    private Snapshot current;
+    private boolean decisionTables;   // guardado por this
+    private volatile DeadlinePolicy deadlinePolicy = DeadlinePolicy.provisionalRejection();
+    private final LongAdder deadlineCalls = new LongAdder();
+    private final LongAdder degradedDecisions = new LongAdder();
 
     public RiskProcessor(RiskHandler handler, RiskStrategy strategy) {
-        this.handler = handler;
-        this.strategy = strategy;
+        CURRENT.setRelease(this, new Snapshot(RiskPipeline.freeze(handler), strategy, null, 1));
+    }
+
+    /**
+     * Executa o pipeline e, somente se aprovado, a estratégia.
+     *
+     * @return decisão codificada conforme {@link RiskDecision}; nenhuma alocação por chamada
+     */
+    public long process(FinancialData data) {
+        return ((Snapshot) CURRENT.getAcquire(this)).decide(data);
+    }
+
+    /**
+     * Como {@link #process(FinancialData)}, com prazo absoluto {@code deadlineNanos}
+     * (referência {@link System#nanoTime()}; ex.: {@code System.nanoTime() + 20_000_000} para
+     * 20 ms). Antes de cada handler com custo declarado, verifica se o tempo restante o
+     * cobre; se não, aplica a {@link DeadlinePolicy} configurada e devolve uma decisão
+     * marcada como degradada. Pipelines só com handlers de custo 0 não consultam o relógio.
+     */
+    public long process(FinancialData data, long deadlineNanos) {
+        deadlineCalls.increment();
+        Snapshot snapshot = (Snapshot) CURRENT.getAcquire(this);
+        DecisionTable table = snapshot.table;
+        if (table != null && table.isCurrent()) {
+            return table.decide(data);
+        }
+        RiskPipeline pipeline = snapshot.pipeline;
+        int result = pipeline.evaluate(data, deadlineNanos);
+        if (result == RiskPipeline.PASSED) {
+            return RiskDecision.approved(snapshot.strategy.evaluate(data));
+        }
+        if (!RiskPipeline.isDeadlineMiss(result)) {
+            return RiskDecision.rejected(result, pipeline.reasonBitsOf(result));
+        }
+        degradedDecisions.increment();
+        return deadlinePolicy.decide(pipeline, RiskPipeline.missedStage(result), data);
+    }
+
+    public void setDeadlinePolicy(DeadlinePolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("A política de prazo não pode ser nula");
+        }
+        this.deadlinePolicy = policy;
+    }
+
+    /** Chamadas de {@link #process(FinancialData, long)} desde a criação. */
+    public long deadlineCalls() {
+        return deadlineCalls.sum();
+    }
+
+    /** Decisões degradadas por prazo esgotado desde a criação. */
+    public long degradedDecisions() {
+        return degradedDecisions.sum();
+    }
+
+    /** {@link #processAll(List, ForkJoinPool)} no pool comum. */
+    public long[] processAll(List<? extends FinancialData> applicants) {
+        return processAll(applicants, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Processa todos os clientes em paralelo com fork/join: o intervalo é dividido
+     * recursivamente até trechos de tamanho suficiente para amortizar o fork, e cada
+     * tarefa grava direto em sua faixa do array de resultado. Todo o trabalho usa o mesmo
+     * snapshot, mesmo que um {@link #reload} aconteça no meio.
+     *
+     * @return decisões na ordem de entrada, codificadas conforme {@link RiskDecision}
+     */
+    public long[] processAll(List<? extends FinancialData> applicants, ForkJoinPool pool) {
+        if (!(applicants instanceof RandomAccess)) {
+            return processAll(applicants.spliterator(), pool);
+        }
+        Snapshot snapshot = (Snapshot) CURRENT.getAcquire(this);
+        long[] decisions = new long[applicants.size()];
+        pool.invoke(new IndexedTask(snapshot, applicants::get, decisions, 0, decisions.length,
+                leafSize(decisions.length, pool)));
+        return decisions;
+    }
+
+    public long[] processAll(FinancialData[] applicants) {
+        return processAll(Arrays.asList(applicants), ForkJoinPool.commonPool());
+    }
+
+    public long[] processAll(FinancialData[] applicants, ForkJoinPool pool) {
+        return processAll(Arrays.asList(applicants), pool);
+    }
+
+    public long[] processAll(Spliterator<? extends FinancialData> applicants) {
+        return processAll(applicants, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Como {@link #processAll(List, ForkJoinPool)} para um {@link Spliterator}. Se ele for
+     * {@code SIZED} e {@code SUBSIZED}, a divisão usa {@code trySplit} e o tamanho exato de
+     * cada prefixo define sua faixa no resultado; caso contrário os elementos são copiados
+     * para uma lista antes.
+     */
+    public long[] processAll(Spliterator<? extends FinancialData> applicants, ForkJoinPool pool) {
+        if (!applicants.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)) {
+            List<FinancialData> copy = new ArrayList<>();
+            applicants.forEachRemaining(copy::add);
+            return processAll(copy, pool);
+        }
+        long size = applicants.getExactSizeIfKnown();
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Entrada grande demais para um array de decisões: " + size);
+        }
+        Snapshot snapshot = (Snapshot) CURRENT.getAcquire(this);
+        long[] decisions = new long[(int) size];
+        pool.invoke(new SpliteratorTask(snapshot, applicants, decisions, 0, leafSize(decisions.length, pool)));
+        return decisions;
+    }
+
+    /** Cerca de 8 trechos por worker, para equilibrar carga sem fork excessivo. */
+    private static int leafSize(int size, ForkJoinPool pool) {
+        return Math.max(1024, size / (pool.getParallelism() * 8));
+    }
+
+    /**
+     * Processa um lote colunar: cada validador percorre o lote inteiro e a estratégia é
+     * avaliada, via cursor, apenas para os aprovados. {@code decisions[i]} recebe a
+     * decisão do registro {@code i}.
+     */
+    public void processBatch(FinancialDataBatch batch, long[] decisions) {
+        Snapshot snapshot = (Snapshot) CURRENT.getAcquire(this);
+        RiskPipeline pipeline = snapshot.pipeline;
+        int size = batch.size();
+        if (decisions.length < size) {
+            throw new IllegalArgumentException("Array de decisões menor que o lote");
+        }
+        int[] rejectedBy = new int[size];
+        pipeline.evaluateBatch(batch, Survivors.all(size), rejectedBy);
+        FinancialDataBatch.Cursor cursor = batch.cursor();
+        for (int i = 0; i < size; i++) {
+            int rejected = rejectedBy[i];
+            decisions[i] = rejected != RiskPipeline.PASSED
+                    ? RiskDecision.rejected(rejected, pipeline.reasonBitsOf(rejected))
+                    : RiskDecision.approved(snapshot.strategy.evaluate(cursor.moveTo(i)));
+        }
+    }
+
+    /**
+     * Percorre {@code decisions.length} registros do store a partir de {@code from} com
+     * uma única visão reutilizável: nenhuma alocação por registro e nada para o GC varrer.
+     */
+    public void processRange(OffHeapFinancialStore store, long from, long[] decisions) {
+        if (from < 0 || from + decisions.length > store.size()) {
+            throw new IndexOutOfBoundsException("Intervalo fora do store");
+        }
+        OffHeapFinancialStore.View view = store.view();
+        for (int i = 0; i < decisions.length; i++) {
+            decisions[i] = process(view.moveTo(from + i));
+        }
+    }
+
+    /** Versão do snapshot vigente; incrementada a cada {@link #reload}. */
+    public long version() {
+        return ((Snapshot) CURRENT.getAcquire(this)).version;
+    }
+
+    /** Troca pipeline e estratégia atomicamente, sem warm-up. */
+    public void reload(RiskHandler handler, RiskStrategy strategy) {
+        reload(handler, strategy, List.of(), 0);
+    }
+
+    /**
+     * Troca pipeline e estratégia atomicamente. Antes da publicação, o novo snapshot é
+     * executado {@code rounds} vezes sobre {@code warmupSamples} (amostras gravadas do
+     * tráfego real) para que o JIT compile o novo código fora do caminho das requisições.
+     * Chamadas em andamento terminam na versão anterior.
+     */
+    public synchronized void reload(RiskHandler handler, RiskStrategy strategy,
+                                    List<? extends FinancialData> warmupSamples, int rounds) {
+        Snapshot previous = (Snapshot) CURRENT.getAcquire(this);
+        RiskPipeline pipeline = RiskPipeline.freeze(handler);
+        DecisionTable table = decisionTables && strategy != null ? DecisionTable.compile(pipeline, strategy) : null;
+        Snapshot next = new Snapshot(pipeline, strategy, table, previous.version + 1);
+        for (int round = 0; round < rounds; round++) {
+            for (FinancialData sample : warmupSamples) {
+                if (next.pipeline.evaluate(sample) == RiskPipeline.PASSED) {
+                    next.strategy.evaluate(sample);
+                }
+            }
+        }
+        CURRENT.setRelease(this, next);
     }
 
-    public void process(FinancialData data) {
-        handler.handle(data);      // validações / pipeline
-        strategy.evaluate(data);   // decisão de risco baseada na estratégia atual
+    /**
+     * Compila pipeline e estratégia vigentes em uma {@link DecisionTable} e passa a usá-la
+     * em {@link #process}, inclusive após {@link #reload}. Chame novamente após ajustar
+     * limites: uma tabela obsoleta é ignorada e a cadeia volta a ser executada.
+     *
+     * @return {@code false} se o pipeline ou a estratégia não forem analisáveis (a cadeia
+     *         continua sendo usada)
+     */
+    public synchronized boolean compileDecisionTable() {
+        decisionTables = true;
+        Snapshot previous = (Snapshot) CURRENT.getAcquire(this);
+        DecisionTable table = DecisionTable.compile(previous.pipeline, previous.strategy);
+        CURRENT.setRelease(this, new Snapshot(previous.pipeline, previous.strategy, table, previous.version));
+        return table != null;
+    }
+
+    /** Combinação imutável de pipeline e estratégia publicada como uma unidade. */
+    private static final class Snapshot {
+        final RiskPipeline pipeline;
+        final RiskStrategy strategy;
+        final DecisionTable table;
+        final long version;
+
+        Snapshot(RiskPipeline pipeline, RiskStrategy strategy, DecisionTable table, long version) {
+            if (strategy == null) {
+                throw new IllegalArgumentException("A estratégia não pode ser nula");
+            }
+            this.pipeline = pipeline;
+            this.strategy = strategy;
+            this.table = table;
+            this.version = version;
+        }
+
+        long decide(FinancialData data) {
+            if (table != null && table.isCurrent()) {
+                return table.decide(data);
+            }
+            int rejected = pipeline.evaluate(data);   // validações / pipeline
+            if (rejected != RiskPipeline.PASSED) {
+                return RiskDecision.rejected(rejected, pipeline.reasonBitsOf(rejected));
+            }
+            return RiskDecision.approved(strategy.evaluate(data));   // decisão de risco baseada na estratégia atual
+        }
+    }
+
+    /** Divide {@code [from, to)} ao meio até o tamanho de folha. */
+    @SuppressWarnings("serial") // nunca serializada
+    private static final class IndexedTask extends RecursiveAction {
+        private final Snapshot snapshot;
+        private final IntFunction<? extends FinancialData> source;
+        private final long[] decisions;
+        private final int from;
+        private final int to;
+        private final int leafSize;
+
+        IndexedTask(Snapshot snapshot, IntFunction<? extends FinancialData> source, long[] decisions,
+                    int from, int to, int leafSize) {
+            this.snapshot = snapshot;
+            this.source = source;
+            this.decisions = decisions;
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= leafSize) {
+                for (int i = from; i < to; i++) {
+                    decisions[i] = snapshot.decide(source.apply(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new IndexedTask(snapshot, source, decisions, from, middle, leafSize),
+                    new IndexedTask(snapshot, source, decisions, middle, to, leafSize));
+        }
+    }
+
+    /** Bifurca prefixos obtidos com {@code trySplit} e processa o restante na própria thread. */
+    @SuppressWarnings("serial") // nunca serializada
+    private static final class SpliteratorTask extends RecursiveAction {
+        private final Snapshot snapshot;
+        private final Spliterator<? extends FinancialData> spliterator;
+        private final long[] decisions;
+        private final int offset;
+        private final int leafSize;
+
+        SpliteratorTask(Snapshot snapshot, Spliterator<? extends FinancialData> spliterator, long[] decisions,
+                        int offset, int leafSize) {
+            this.snapshot = snapshot;
+            this.spliterator = spliterator;
+            this.decisions = decisions;
+            this.offset = offset;
+            this.leafSize = leafSize;
+        }
+
+        @Override
+        protected void compute() {
+            Spliterator<? extends FinancialData> rest = spliterator;
+            int position = offset;
+            List<SpliteratorTask> forked = new ArrayList<>();
+            while (rest.estimateSize() > leafSize) {
+                Spliterator<? extends FinancialData> prefix = rest.trySplit();
+                if (prefix == null) {
+                    break;
+                }
+                int prefixSize = (int) prefix.getExactSizeIfKnown();
+                SpliteratorTask task = new SpliteratorTask(snapshot, prefix, decisions, position, leafSize);
+                task.fork();
+                forked.add(task);
+                position += prefixSize;
+            }
+            int[] next = {position};
+            rest.forEachRemaining(data -> decisions[next[0]++] = snapshot.decide(data));
+            for (SpliteratorTask task : forked) {
+                task.join();
+            }
+        }
     }
 }
@@ -0,0 +1,47 @@
+package com.empresa.riscos.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Contador de sequência com padding para ocupar sua própria linha de cache: produtor e
+ * estágios atualizam sequências diferentes sem invalidar a linha uns dos outros.
+ * A herança garante o padding antes e depois do valor, que a JVM não reordena entre classes.
+ */
+final class Sequence extends SequenceRightPadding {
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    Sequence(long initial) {
+        value = initial;
+    }
+
+    long get() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    void set(long next) {
+        VALUE.setRelease(this, next);
+    }
+}
+
+@SuppressWarnings("unused")
+class SequenceLeftPadding {
+    long p1, p2, p3, p4, p5, p6, p7;
+}
+
+class SequenceValue extends SequenceLeftPadding {
+    long value;
+}
+
+@SuppressWarnings("unused")
+class SequenceRightPadding extends SequenceValue {
+    long p9, p10, p11, p12, p13, p14, p15;
+}
@@ -0,0 +1,304 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.pipeline.RiskHandler;
+import com.empresa.riscos.pipeline.RiskPipeline;
+import com.empresa.riscos.state.CustomerStateTable;
+import com.empresa.riscos.strategy.RiskStrategy;
+
+import java.util.function.Function;
+
+/**
+ * Front end particionado por cliente, no estilo thread-per-core: o id de cada cliente é
+ * espalhado por hash para um de N shards, cada um com uma única thread, sua própria
+ * instância da cadeia e sua própria {@link CustomerStateTable}. Como estado e handlers de
+ * um shard só são tocados pela thread dele, validadores com estado dispensam locks.
+ *
+ * <ul>
+ *   <li>Cada thread produtora ocupa, na primeira submissão, uma vaga de um pool limitado
+ *       de produtores, com uma fila SPSC por shard; a alocação fica fora do caminho das
+ *       requisições. A vaga volta ao pool com {@link #releaseProducer()} ou, se a thread
+ *       terminar sem chamá-lo, é reaproveitada pela próxima thread que precisar de uma.</li>
+ *   <li>Registros de um mesmo cliente enviados pela mesma thread são avaliados e
+ *       entregues ao {@link DecisionListener} na ordem de envio.</li>
+ *   <li>Clientes sem identificação são distribuídos em rodízio, sem garantia de ordem.</li>
+ * </ul>
+ */
+public final class ShardedRiskProcessor implements AutoCloseable {
+    /** Vagas de produtores quando não informado. */
+    public static final int DEFAULT_MAX_PRODUCERS = 64;
+
+    private static final RiskLogger LOG = RiskLog.getLogger(ShardedRiskProcessor.class);
+
+    private final Shard[] shards;
+    private final RiskStrategy strategy;
+    private final WaitStrategy waitStrategy;
+    private final DecisionListener listener;
+    private final int ringCapacity;
+    private final ThreadLocal<Producer> producers = new ThreadLocal<>();
+    private final Producer[] producerSlots;
+    private volatile int producerCount;   // vagas já criadas; só cresce
+    private volatile boolean running;
+    private volatile boolean closing;
+
+    /** Como o construtor completo, com {@link #DEFAULT_MAX_PRODUCERS} vagas de produtores. */
+    public ShardedRiskProcessor(int shardCount, long expectedCustomers,
+                                Function<? super CustomerStateTable, ? extends RiskHandler> chainFactory,
+                                RiskStrategy strategy, int ringCapacity,
+                                WaitStrategy waitStrategy, DecisionListener listener) {
+        this(shardCount, expectedCustomers, chainFactory, strategy, ringCapacity, waitStrategy, listener,
+                DEFAULT_MAX_PRODUCERS);
+    }
+
+    /**
+     * @param shardCount        número de shards (tipicamente um por núcleo)
+     * @param expectedCustomers clientes distintos esperados no total, repartidos com folga entre
+     *                          as tabelas dos shards
+     * @param chainFactory      cria a cadeia de cada shard a partir da tabela de estado dele
+     * @param ringCapacity      capacidade de cada fila produtor-shard (potência de 2)
+     * @param maxProducers      threads produtoras simultâneas; cada shard percorre no máximo
+     *                          essa quantidade de filas
+     */
+    public ShardedRiskProcessor(int shardCount, long expectedCustomers,
+                                Function<? super CustomerStateTable, ? extends RiskHandler> chainFactory,
+                                RiskStrategy strategy, int ringCapacity,
+                                WaitStrategy waitStrategy, DecisionListener listener, int maxProducers) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Número de shards deve ser positivo: " + shardCount);
+        }
+        if (maxProducers < 1) {
+            throw new IllegalArgumentException("Número de produtores deve ser positivo: " + maxProducers);
+        }
+        if (ringCapacity < 2 || Integer.bitCount(ringCapacity) != 1) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser potência de 2");
+        }
+        if (strategy == null || waitStrategy == null || listener == null) {
+            throw new IllegalArgumentException("Estratégia, espera e listener são obrigatórios");
+        }
+        this.strategy = strategy;
+        this.waitStrategy = waitStrategy;
+        this.listener = listener;
+        this.ringCapacity = ringCapacity;
+        this.producerSlots = new Producer[maxProducers];
+        this.shards = new Shard[shardCount];
+        // folga para a variação por hash entre shards, como nos segmentos do CustomerStateStore
+        long perShard = CustomerStateTable.partitionCapacity(expectedCustomers, shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            CustomerStateTable state = new CustomerStateTable(perShard);
+            shards[i] = new Shard(i, RiskPipeline.freeze(chainFactory.apply(state)));
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("Processador já iniciado");
+        }
+        running = true;
+        for (Shard shard : shards) {
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Enfileira o registro no shard do cliente, aguardando (conforme a {@link WaitStrategy})
+     * se a fila desta thread para aquele shard estiver cheia. O registro é copiado.
+     */
+    public void submit(FinancialData data) {
+        if (!running || closing) {
+            throw new IllegalStateException("Processador não iniciado ou encerrado");
+        }
+        Producer producer = producers.get();
+        if (producer == null) {
+            producer = acquireProducer();
+        }
+        long customerId = data.getCustomerId();
+        int shard = customerId == FinancialData.NO_CUSTOMER
+                ? producer.nextAnonymousShard()
+                : shardOf(customerId);
+        SpscRing ring = producer.rings[shard];
+        int attempts = 0;
+        while (!ring.offer(data)) {
+            attempts = waitStrategy.idle(attempts);
+        }
+    }
+
+    /**
+     * Devolve ao pool a vaga de produtor da thread atual, depois que os shards consumirem
+     * tudo o que ela enviou (a ordem por cliente se mantém se a thread voltar a submeter).
+     * Threads de vida curta devem chamá-lo ao terminar; sem efeito se a thread não tiver vaga.
+     */
+    public void releaseProducer() {
+        Producer producer = producers.get();
+        if (producer == null) {
+            return;
+        }
+        int attempts = 0;
+        for (SpscRing ring : producer.rings) {
+            while (!ring.isDrained() && running) {
+                attempts = waitStrategy.idle(attempts);
+            }
+        }
+        producers.remove();
+        synchronized (this) {
+            producer.owner = null;
+        }
+    }
+
+    /** Shard responsável pelo cliente. */
+    public int shardOf(long customerId) {
+        long h = customerId * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        return (int) (((h & 0xFFFFFFFFL) * shards.length) >>> 32);
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /** Decisões já entregues ao listener, somando todos os shards. */
+    public long completed() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.completed.get();
+        }
+        return total;
+    }
+
+    /**
+     * Processa tudo o que já foi enfileirado e encerra as threads dos shards.
+     * Chame depois que os produtores pararem de submeter.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running || closing) {
+            return;
+        }
+        closing = true;
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reaproveita uma vaga livre ou de thread já terminada (o término da thread garante a
+     * visibilidade do que ela escreveu nas filas) ou cria uma nova, publicada aos shards
+     * pela escrita volatile de {@code producerCount}.
+     */
+    private synchronized Producer acquireProducer() {
+        Thread current = Thread.currentThread();
+        int created = producerCount;
+        Producer producer = null;
+        for (int i = 0; i < created && producer == null; i++) {
+            Thread owner = producerSlots[i].owner;
+            if (owner == null || !owner.isAlive()) {
+                producer = producerSlots[i];
+            }
+        }
+        if (producer == null) {
+            if (created == producerSlots.length) {
+                throw new IllegalStateException("Limite de " + created
+                        + " threads produtoras atingido; use releaseProducer() ao terminar");
+            }
+            SpscRing[] rings = new SpscRing[shards.length];
+            for (int i = 0; i < shards.length; i++) {
+                rings[i] = new SpscRing(ringCapacity);
+            }
+            producer = new Producer(rings);
+            producerSlots[created] = producer;
+            producerCount = created + 1;
+        }
+        producer.owner = current;
+        producers.set(producer);
+        return producer;
+    }
+
+    private void runShard(Shard shard) {
+        int attempts = 0;
+        while (true) {
+            boolean closingSeen = closing;   // lido antes da passada: nada publicado antes do close escapa
+            boolean progress = false;
+            int count = producerCount;
+            for (int p = 0; p < count; p++) {
+                SpscRing ring = producerSlots[p].rings[shard.index];
+                long start = ring.readPosition();
+                long end = ring.readLimit();
+                for (long position = start; position < end; position++) {
+                    decide(shard, ring.slot(position));
+                }
+                if (end > start) {
+                    ring.release(end);
+                    shard.completed.set(shard.sequence);
+                    progress = true;
+                }
+            }
+            if (progress) {
+                attempts = 0;
+            } else if (closingSeen) {
+                return;
+            } else {
+                attempts = waitStrategy.idle(attempts);
+            }
+        }
+    }
+
+    private void decide(Shard shard, FinancialData data) {
+        long sequence = shard.sequence;
+        try {
+            long decision;
+            try {
+                int rejected = shard.pipeline.evaluate(data);
+                decision = rejected != RiskPipeline.PASSED
+                        ? RiskDecision.rejected(rejected, shard.pipeline.reasonBitsOf(rejected))
+                        : RiskDecision.approved(strategy.evaluate(data));
+            } catch (Throwable t) {
+                listener.onError(sequence, data, t);
+                return;
+            }
+            listener.onDecision(sequence, data, decision);
+        } catch (Throwable t) {
+            // uma falha do listener não pode parar o shard
+            LOG.error("Falha no listener de decisões (shard " + shard.index + "): " + t);
+        } finally {
+            shard.sequence = sequence + 1;
+        }
+    }
+
+    /** Vaga de produtor: filas de uma thread produtora, uma por shard. */
+    private final class Producer {
+        final SpscRing[] rings;
+        Thread owner;   // guardado pelo monitor do processador
+        private int anonymous;
+
+        Producer(SpscRing[] rings) {
+            this.rings = rings;
+        }
+
+        int nextAnonymousShard() {
+            int shard = anonymous;
+            anonymous = shard + 1 == shards.length ? 0 : shard + 1;
+            return shard;
+        }
+    }
+
+    private final class Shard {
+        final int index;
+        final RiskPipeline pipeline;
+        final Thread thread;
+        final Sequence completed = new Sequence(0);   // publicado a cada lote
+        long sequence;   // somente a thread do shard
+
+        Shard(int index, RiskPipeline pipeline) {
+            this.index = index;
+            this.pipeline = pipeline;
+            this.thread = new Thread(() -> runShard(this), "riscos-shard-" + index);
+            this.thread.setDaemon(true);
+        }
+    }
+}
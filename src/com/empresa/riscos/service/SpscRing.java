@@ -0,0 +1,72 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.MutableFinancialData;
+
+/**
+ * Fila de um produtor e um consumidor sobre slots pré-alocados. O produtor copia o
+ * registro para o slot e publica a posição com escrita release; o consumidor lê em lote
+ * tudo o que foi publicado e libera os slots de uma vez. Cada lado guarda em cache a
+ * última posição vista do outro para evitar leituras compartilhadas a cada operação.
+ */
+final class SpscRing {
+    private final MutableFinancialData[] slots;
+    private final int mask;
+    private final Sequence tail = new Sequence(0);   // próxima escrita (produtor)
+    private final Sequence head = new Sequence(0);   // próxima leitura (consumidor)
+    private long cachedHead;   // somente o produtor
+    private long cachedTail;   // somente o consumidor
+
+    SpscRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser potência de 2");
+        }
+        this.slots = new MutableFinancialData[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new MutableFinancialData();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /** Lado produtor: copia o registro; {@code false} se a fila estiver cheia. */
+    boolean offer(FinancialData data) {
+        long position = tail.get();
+        if (position - cachedHead >= slots.length) {
+            cachedHead = head.get();
+            if (position - cachedHead >= slots.length) {
+                return false;
+            }
+        }
+        slots[(int) position & mask].copyFrom(data);
+        tail.set(position + 1);
+        return true;
+    }
+
+    /** {@code true} quando o consumidor já liberou tudo o que foi publicado. */
+    boolean isDrained() {
+        return head.get() == tail.get();
+    }
+
+    /** Lado consumidor: primeira posição ainda não lida. */
+    long readPosition() {
+        return head.get();
+    }
+
+    /** Lado consumidor: fim (exclusivo) das posições já publicadas. */
+    long readLimit() {
+        long position = head.get();
+        if (position >= cachedTail) {
+            cachedTail = tail.get();
+        }
+        return cachedTail;
+    }
+
+    MutableFinancialData slot(long position) {
+        return slots[(int) position & mask];
+    }
+
+    /** Lado consumidor: libera os slots até {@code position} (exclusivo) para o produtor. */
+    void release(long position) {
+        head.set(position);
+    }
+}
@@ -0,0 +1,212 @@
+package com.empresa.riscos.service;
+
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.FinancialData;
+import com.empresa.riscos.model.MutableFinancialData;
+import com.empresa.riscos.pipeline.RiskHandler;
+import com.empresa.riscos.pipeline.RiskPipeline;
+import com.empresa.riscos.strategy.RiskStrategy;
+
+/**
+ * Pipeline em estágios sobre um ring buffer pré-alocado, no estilo Disruptor: cada
+ * validador e a estratégia rodam em uma thread dedicada, e os estágios se coordenam
+ * apenas por sequências (barreiras), sem filas nem alocação por registro.
+ *
+ * <p>O produtor (uma única thread) copia o registro para um slot reutilizável e publica
+ * sua sequência. O estágio {@code k} processa todas as sequências já liberadas pelo
+ * estágio {@code k - 1}, em lote, e avança a própria; o último estágio avalia a
+ * estratégia, entrega a decisão ao {@link DecisionListener} e libera o slot. Registros
+ * reprovados atravessam os estágios restantes sem executar handlers.
+ *
+ * <p>A ordem dos handlers é a vigente no pipeline na construção; o ring não acompanha
+ * {@link RiskProcessor#reload}.
+ */
+public final class StagedRiskRing implements AutoCloseable {
+    private static final RiskLogger LOG = RiskLog.getLogger(StagedRiskRing.class);
+
+    private final RiskPipeline pipeline;
+    private final RiskStrategy strategy;
+    private final WaitStrategy waitStrategy;
+    private final DecisionListener listener;
+    private final int[] order;
+    private final MutableFinancialData[] slots;
+    private final int[] rejectedBy;
+    private final Throwable[] errors;
+    private final int mask;
+    private final Sequence cursor = new Sequence(-1);
+    private final Sequence[] stages;
+    private final Thread[] threads;
+    private volatile boolean running;
+    private long nextSequence;      // somente o produtor
+    private long cachedGate = -1;   // somente o produtor
+
+    public StagedRiskRing(RiskHandler head, RiskStrategy strategy, int capacity,
+                          WaitStrategy waitStrategy, DecisionListener listener) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacidade do ring deve ser potência de 2");
+        }
+        if (strategy == null || waitStrategy == null || listener == null) {
+            throw new IllegalArgumentException("Estratégia, espera e listener são obrigatórios");
+        }
+        this.pipeline = RiskPipeline.freeze(head);
+        this.strategy = strategy;
+        this.waitStrategy = waitStrategy;
+        this.listener = listener;
+        this.order = pipeline.currentOrder();
+        this.slots = new MutableFinancialData[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new MutableFinancialData();
+        }
+        this.rejectedBy = new int[capacity];
+        this.errors = new Throwable[capacity];
+        this.mask = capacity - 1;
+        this.stages = new Sequence[order.length + 1];
+        this.threads = new Thread[order.length + 1];
+        for (int k = 0; k < stages.length; k++) {
+            stages[k] = new Sequence(-1);
+            int stage = k;
+            threads[k] = new Thread(() -> runStage(stage), "riscos-ring-stage-" + k);
+            threads[k].setDaemon(true);
+        }
+    }
+
+    /** Inicia as threads dos estágios. */
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("Ring já iniciado");
+        }
+        running = true;
+        for (Thread thread : threads) {
+            thread.start();
+        }
+    }
+
+    public long publish(FinancialData data) {
+        return publish(data.getCustomerId(), data.getScore(), data.getIncome(), data.isFraudFlag());
+    }
+
+    /**
+     * Copia o registro para o próximo slot e o publica, aguardando (conforme a
+     * {@link WaitStrategy}) se o ring estiver cheio. Deve ser chamado por uma única thread.
+     *
+     * @return sequência atribuída ao registro, repassada ao listener
+     */
+    public long publish(long customerId, int score, double income, boolean fraudFlag) {
+        if (!running) {
+            throw new IllegalStateException("Ring não iniciado ou encerrado");
+        }
+        long sequence = nextSequence;
+        long wrapPoint = sequence - slots.length;
+        if (wrapPoint > cachedGate) {
+            Sequence last = stages[stages.length - 1];
+            int attempts = 0;
+            while (wrapPoint > (cachedGate = last.get())) {
+                attempts = waitStrategy.idle(attempts);
+            }
+        }
+        int index = (int) sequence & mask;
+        slots[index].set(customerId, score, income, fraudFlag);
+        rejectedBy[index] = RiskPipeline.PASSED;
+        errors[index] = null;
+        nextSequence = sequence + 1;
+        cursor.set(sequence);
+        return sequence;
+    }
+
+    /** Última sequência já entregue ao listener, ou {@code -1}. */
+    public long completed() {
+        return stages[stages.length - 1].get();
+    }
+
+    /**
+     * Aguarda os registros já publicados chegarem ao listener e encerra as threads.
+     * Deve ser chamado pela thread produtora, depois da última publicação.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        long published = cursor.get();
+        int attempts = 0;
+        while (completed() < published) {
+            attempts = waitStrategy.idle(attempts);
+        }
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runStage(int stage) {
+        Sequence upstream = stage == 0 ? cursor : stages[stage - 1];
+        Sequence own = stages[stage];
+        boolean last = stage == order.length;
+        long next = own.get() + 1;
+        int attempts = 0;
+        while (true) {
+            long available = upstream.get();
+            if (available < next) {
+                if (!running) {
+                    return;
+                }
+                attempts = waitStrategy.idle(attempts);
+                continue;
+            }
+            attempts = 0;
+            for (long sequence = next; sequence <= available; sequence++) {
+                int index = (int) sequence & mask;
+                if (last) {
+                    complete(sequence, index);
+                } else {
+                    validate(stage, index);
+                }
+            }
+            own.set(available);
+            next = available + 1;
+        }
+    }
+
+    private void validate(int stage, int index) {
+        if (rejectedBy[index] != RiskPipeline.PASSED || errors[index] != null) {
+            return;
+        }
+        try {
+            if (!pipeline.evaluateStage(order[stage], slots[index])) {
+                rejectedBy[index] = order[stage];
+            }
+        } catch (Throwable t) {
+            errors[index] = t;
+        }
+    }
+
+    private void complete(long sequence, int index) {
+        MutableFinancialData data = slots[index];
+        try {
+            if (errors[index] != null) {
+                listener.onError(sequence, data, errors[index]);
+                return;
+            }
+            int rejected = rejectedBy[index];
+            long decision;
+            try {
+                decision = rejected != RiskPipeline.PASSED
+                        ? RiskDecision.rejected(rejected, pipeline.reasonBitsOf(rejected))
+                        : RiskDecision.approved(strategy.evaluate(data));
+            } catch (Throwable t) {
+                listener.onError(sequence, data, t);
+                return;
+            }
+            listener.onDecision(sequence, data, decision);
+        } catch (Throwable t) {
+            // uma falha do listener não pode parar o ring
+            LOG.error("Falha no listener de decisões (sequência " + sequence + "): " + t);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.empresa.riscos.service;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Como uma thread de estágio aguarda trabalho novo: troca de latência por consumo de CPU.
+ */
+public enum WaitStrategy {
+    /** Gira continuamente: menor latência, mas exige um núcleo livre por thread de estágio. */
+    BUSY_SPIN {
+        @Override
+        void pause(int attempts) {
+            Thread.onSpinWait();
+        }
+    },
+    /** Gira por pouco tempo e depois cede o processador a outras threads. */
+    YIELD {
+        @Override
+        void pause(int attempts) {
+            if (attempts < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    },
+    /** Gira, cede e por fim dorme brevemente: menor consumo, latência de dezenas de µs. */
+    PARK {
+        @Override
+        void pause(int attempts) {
+            if (attempts < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (attempts < SPIN_TRIES * 2) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    };
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PARK_NANOS = 10_000;
+
+    /**
+     * Chamado a cada tentativa sem progresso; devolve a contagem seguinte, saturada em
+     * {@link Integer#MAX_VALUE} para uma espera longa não voltar a girar. O chamador zera a
+     * contagem quando há trabalho.
+     */
+    final int idle(int attempts) {
+        pause(attempts);
+        return attempts == Integer.MAX_VALUE ? attempts : attempts + 1;
+    }
+
+    abstract void pause(int attempts);
+}
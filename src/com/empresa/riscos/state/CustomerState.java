@@ -0,0 +1,52 @@
+package com.empresa.riscos.state;
+
+/**
+ * Estado por cliente em campos {@code long} indexados, lido e atualizado por validadores
+ * com memória. Clientes sem estado leem 0 em todos os campos.
+ * Índices dos campos padrão: {@link #LAST_DECISION}, {@link #EXPOSURE}, {@link #ATTEMPTS}.
+ */
+public interface CustomerState {
+    /** Última decisão codificada (ver {@code RiskDecision}). */
+    int LAST_DECISION = 0;
+    /** Exposição acumulada, como bits de {@code double} (ver {@link #addDouble}). */
+    int EXPOSURE = 1;
+    /** Número de tentativas. */
+    int ATTEMPTS = 2;
+    /** Quantidade de campos padrão; campos customizados começam aqui. */
+    int STANDARD_FIELDS = 3;
+
+    int fields();
+
+    /** Valor do campo, ou 0 se o cliente não tiver estado. */
+    long get(long customerId, int field);
+
+    default double getDouble(long customerId, int field) {
+        return Double.longBitsToDouble(get(customerId, field));
+    }
+
+    /** Grava o campo, criando o estado do cliente (demais campos em 0) se necessário. */
+    void set(long customerId, int field, long value);
+
+    default void setDouble(long customerId, int field, double value) {
+        set(customerId, field, Double.doubleToRawLongBits(value));
+    }
+
+    /** Soma {@code delta} ao campo; devolve o novo valor. */
+    long add(long customerId, int field, long delta);
+
+    /** Como {@link #add}, tratando o campo como {@code double}. */
+    double addDouble(long customerId, int field, double delta);
+
+    boolean contains(long customerId);
+
+    /** Remove o estado do cliente; devolve {@code false} se ele não existia. */
+    boolean remove(long customerId);
+
+    long size();
+
+    /** Clientes que cabem com certeza; além disso as inserções podem falhar. */
+    long capacity();
+
+    /** Memória ocupada pelas tabelas, fixa desde a construção. */
+    long memoryBytes();
+}
@@ -0,0 +1,132 @@
+package com.empresa.riscos.state;
+
+/**
+ * {@link CustomerState} para acesso concorrente: o espaço de chaves é dividido entre
+ * {@link CustomerStateTable}s independentes (lock striping), e cada operação, inclusive
+ * as compostas como {@link #add}, é atômica dentro do segmento do cliente.
+ *
+ * <p>Cada segmento tem capacidade fixa, então o consumo de memória é previsível
+ * ({@link #memoryBytes()}): 50 milhões de clientes com os 3 campos padrão ocupam cerca de
+ * 2,2 GB, sem objetos por cliente e nada para o GC percorrer além dos próprios arrays.
+ * Como os clientes se distribuem entre segmentos por hash, cada segmento recebe folga
+ * ({@link CustomerStateTable#partitionCapacity}): {@code expectedCustomers} ids distintos
+ * cabem com probabilidade de falha desprezível. {@link #capacity()} é a soma das
+ * capacidades dos segmentos; perto dela, um segmento pode encher antes dos demais.
+ */
+public final class CustomerStateStore implements CustomerState {
+    private final CustomerStateTable[] stripes;
+    private final int stripeMask;
+    private final int fields;
+
+    public CustomerStateStore(long expectedCustomers) {
+        this(expectedCustomers, STANDARD_FIELDS, Runtime.getRuntime().availableProcessors() * 8);
+    }
+
+    public CustomerStateStore(long expectedCustomers, int fields, int concurrency) {
+        if (expectedCustomers < 1 || fields < 1 || concurrency < 1) {
+            throw new IllegalArgumentException("Capacidade, campos e concorrência devem ser positivos");
+        }
+        int count = Integer.highestOneBit(Math.max(1, concurrency - 1) << 1);
+        long perStripe = CustomerStateTable.partitionCapacity(expectedCustomers, count);
+        this.fields = fields;
+        this.stripes = new CustomerStateTable[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new CustomerStateTable(perStripe, fields);
+        }
+        this.stripeMask = count - 1;
+    }
+
+    @Override
+    public int fields() {
+        return fields;
+    }
+
+    @Override
+    public long get(long customerId, int field) {
+        long hash = CustomerStateTable.hash(customerId);
+        CustomerStateTable stripe = stripe(hash);
+        synchronized (stripe) {
+            return stripe.get(customerId, hash, field);
+        }
+    }
+
+    @Override
+    public void set(long customerId, int field, long value) {
+        long hash = CustomerStateTable.hash(customerId);
+        CustomerStateTable stripe = stripe(hash);
+        synchronized (stripe) {
+            stripe.set(customerId, hash, field, value);
+        }
+    }
+
+    /** Soma {@code delta} ao campo de forma atômica; devolve o novo valor. */
+    @Override
+    public long add(long customerId, int field, long delta) {
+        long hash = CustomerStateTable.hash(customerId);
+        CustomerStateTable stripe = stripe(hash);
+        synchronized (stripe) {
+            return stripe.add(customerId, hash, field, delta);
+        }
+    }
+
+    @Override
+    public double addDouble(long customerId, int field, double delta) {
+        long hash = CustomerStateTable.hash(customerId);
+        CustomerStateTable stripe = stripe(hash);
+        synchronized (stripe) {
+            return stripe.addDouble(customerId, hash, field, delta);
+        }
+    }
+
+    @Override
+    public boolean contains(long customerId) {
+        long hash = CustomerStateTable.hash(customerId);
+        CustomerStateTable stripe = stripe(hash);
+        synchronized (stripe) {
+            return stripe.contains(customerId, hash);
+        }
+    }
+
+    @Override
+    public boolean remove(long customerId) {
+        long hash = CustomerStateTable.hash(customerId);
+        CustomerStateTable stripe = stripe(hash);
+        synchronized (stripe) {
+            return stripe.remove(customerId, hash);
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (CustomerStateTable stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public long capacity() {
+        long capacity = 0;
+        for (CustomerStateTable stripe : stripes) {
+            capacity += stripe.capacity();
+        }
+        return capacity;
+    }
+
+    @Override
+    public long memoryBytes() {
+        long bytes = 0;
+        for (CustomerStateTable stripe : stripes) {
+            bytes += stripe.memoryBytes();
+        }
+        return bytes;
+    }
+
+    /** Bits altos escolhem o segmento; os baixos, a posição dentro dele. */
+    private CustomerStateTable stripe(long hash) {
+        return stripes[(int) (hash >>> 32) & stripeMask];
+    }
+}
@@ -0,0 +1,212 @@
+package com.empresa.riscos.state;
+
+import com.empresa.riscos.model.FinancialData;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de estado por cliente para uma única thread: endereçamento aberto com sondagem
+ * linear sobre um {@code long[]}, sem boxing e sem locks. Cada cliente ocupa uma linha de
+ * {@code 1 + fields} {@code long}s contíguos (chave e campos).
+ *
+ * <p>A capacidade é fixada na construção para fator de carga 0,75, então a memória é
+ * previsível; ultrapassá-la lança {@link IllegalStateException} em vez de redimensionar.
+ * O id {@link FinancialData#NO_CUSTOMER} é reservado como marcador de posição livre.
+ * Para acesso concorrente, use {@link CustomerStateStore} ou confine a tabela a um shard.
+ */
+public final class CustomerStateTable implements CustomerState {
+    static final double LOAD_FACTOR = 0.75;
+
+    private final long[] table;
+    private final int capacity;
+    private final int width;
+    private final int maxSize;
+    private int size;
+
+    public CustomerStateTable(long expectedCustomers) {
+        this(expectedCustomers, STANDARD_FIELDS);
+    }
+
+    public CustomerStateTable(long expectedCustomers, int fields) {
+        if (expectedCustomers < 1 || fields < 1) {
+            throw new IllegalArgumentException("Capacidade e campos devem ser positivos");
+        }
+        long rows = (long) Math.ceil(expectedCustomers / LOAD_FACTOR) + 1;
+        if (rows * (1 + fields) > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Capacidade grande demais para uma tabela: " + expectedCustomers);
+        }
+        this.capacity = (int) rows;
+        this.width = 1 + fields;
+        this.table = new long[capacity * width];
+        this.maxSize = (int) Math.ceil(capacity * LOAD_FACTOR);
+    }
+
+    @Override
+    public int fields() {
+        return width - 1;
+    }
+
+    @Override
+    public long get(long customerId, int field) {
+        return get(customerId, hash(customerId), field);
+    }
+
+    @Override
+    public void set(long customerId, int field, long value) {
+        set(customerId, hash(customerId), field, value);
+    }
+
+    @Override
+    public long add(long customerId, int field, long delta) {
+        return add(customerId, hash(customerId), field, delta);
+    }
+
+    @Override
+    public double addDouble(long customerId, int field, double delta) {
+        return addDouble(customerId, hash(customerId), field, delta);
+    }
+
+    @Override
+    public boolean contains(long customerId) {
+        return contains(customerId, hash(customerId));
+    }
+
+    @Override
+    public boolean remove(long customerId) {
+        return remove(customerId, hash(customerId));
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public long capacity() {
+        return maxSize;
+    }
+
+    @Override
+    public long memoryBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    // Variantes com hash pré-calculado, usadas pelo store segmentado.
+
+    long get(long key, long hash, int field) {
+        checkField(field);
+        int row = find(key, hash);
+        return row < 0 ? 0 : table[row + 1 + field];
+    }
+
+    void set(long key, long hash, int field, long value) {
+        checkField(field);
+        table[findOrInsert(key, hash) + 1 + field] = value;
+    }
+
+    long add(long key, long hash, int field, long delta) {
+        checkField(field);
+        int index = findOrInsert(key, hash) + 1 + field;
+        return table[index] += delta;
+    }
+
+    double addDouble(long key, long hash, int field, double delta) {
+        checkField(field);
+        int index = findOrInsert(key, hash) + 1 + field;
+        double value = Double.longBitsToDouble(table[index]) + delta;
+        table[index] = Double.doubleToRawLongBits(value);
+        return value;
+    }
+
+    boolean contains(long key, long hash) {
+        return find(key, hash) >= 0;
+    }
+
+    boolean remove(long key, long hash) {
+        int row = find(key, hash);
+        if (row < 0) {
+            return false;
+        }
+        int hole = row / width;
+        table[row] = FinancialData.NO_CUSTOMER;
+        size--;
+        // remoção por deslocamento: puxa para o buraco as entradas cuja origem não está em (hole, j]
+        for (int j = next(hole); table[j * width] != FinancialData.NO_CUSTOMER; j = next(j)) {
+            int home = home(hash(table[j * width]));
+            boolean between = hole <= j ? (home > hole && home <= j) : (home > hole || home <= j);
+            if (!between) {
+                System.arraycopy(table, j * width, table, hole * width, width);
+                table[j * width] = FinancialData.NO_CUSTOMER;
+                hole = j;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Capacidade de cada uma de {@code parts} tabelas que repartem {@code total} clientes por
+     * hash. A ocupação de cada parte varia em torno da média com desvio-padrão de cerca de
+     * {@code sqrt(média)}; a folga de 6 desvios torna o estouro de uma parte desprezível
+     * (probabilidade da ordem de 1e-9 por parte) com poucos porcento de memória extra.
+     */
+    public static long partitionCapacity(long total, int parts) {
+        long mean = (total + parts - 1) / parts;
+        return mean + (long) Math.ceil(6 * Math.sqrt(mean)) + 8;
+    }
+
+    static long hash(long customerId) {
+        if (customerId == FinancialData.NO_CUSTOMER) {
+            throw new IllegalArgumentException("Cliente sem identificação não tem estado");
+        }
+        long h = customerId * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        return h ^ (h >>> 29);
+    }
+
+    private int find(long key, long hash) {
+        for (int slot = home(hash); ; slot = next(slot)) {
+            long current = table[slot * width];
+            if (current == key) {
+                return slot * width;
+            }
+            if (current == FinancialData.NO_CUSTOMER) {
+                return -1;
+            }
+        }
+    }
+
+    private int findOrInsert(long key, long hash) {
+        for (int slot = home(hash); ; slot = next(slot)) {
+            int row = slot * width;
+            long current = table[row];
+            if (current == key) {
+                return row;
+            }
+            if (current == FinancialData.NO_CUSTOMER) {
+                if (size == maxSize) {
+                    throw new IllegalStateException("Capacidade da tabela de estado esgotada");
+                }
+                size++;
+                table[row] = key;
+                Arrays.fill(table, row + 1, row + width, 0L);
+                return row;
+            }
+        }
+    }
+
+    /** Redução multiplicativa dos 32 bits baixos: a capacidade não precisa ser potência de dois. */
+    private int home(long hash) {
+        return (int) (((hash & 0xFFFFFFFFL) * capacity) >>> 32);
+    }
+
+    private int next(int slot) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= width - 1) {
+            throw new IndexOutOfBoundsException("Campo " + field + " inexistente");
+        }
+    }
+}
@@ -1,13 +1,34 @@
 package com.empresa.riscos.strategy;
 
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.ApplicantField;
 import com.empresa.riscos.model.FinancialData;
 
 /**
  * Policy para clientes de alto risco.
  */
-public class HighRiskStrategy implements RiskStrategy {
+public class HighRiskStrategy implements ThresholdStrategy {
+    private static final RiskLogger LOG = RiskLog.getLogger(HighRiskStrategy.class);
+
+    @Override
+    public RiskLevel evaluate(FinancialData data) {
+        LOG.info("Cliente classificado como ALTO risco.");
+        return RiskLevel.HIGH;
+    }
+
+    @Override
+    public ApplicantField field() {
+        return ApplicantField.SCORE;
+    }
+
+    @Override
+    public double[] breakpoints() {
+        return new double[0];
+    }
+
     @Override
-    public void evaluate(FinancialData data) {
-        System.out.println("Cliente classificado como ALTO risco.");
+    public RiskLevel levelFor(double value) {
+        return RiskLevel.HIGH;
     }
 }
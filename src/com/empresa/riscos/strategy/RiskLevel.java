@@ -0,0 +1,27 @@
+package com.empresa.riscos.strategy;
+
+/**
+ * Classificação produzida por uma {@link RiskStrategy}.
+ * O código numérico é estável e usado na codificação primitiva das decisões.
+ */
+public enum RiskLevel {
+    LOW(0),
+    HIGH(1);
+
+    private static final RiskLevel[] BY_CODE = {LOW, HIGH};
+
+    private final int code;
+
+    RiskLevel(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    /** Conversão sem alocação (ao contrário de {@code values()}). */
+    public static RiskLevel fromCode(int code) {
+        return BY_CODE[code];
+    }
+}
@@ -7,5 +7,10 @@ import com.empresa.riscos.model.FinancialData;
  * Justificativa: Strategy permite trocar políticas sem alterar o processamento.
  */
 public interface RiskStrategy {
-    void evaluate(FinancialData data);
+    /**
+     * Classifica o cliente já aprovado pelo pipeline.
+     *
+     * @return classificação atribuída (nunca {@code null})
+     */
+    RiskLevel evaluate(FinancialData data);
 }
@@ -0,0 +1,45 @@
+package com.empresa.riscos.strategy;
+
+import com.empresa.riscos.logging.RiskLog;
+import com.empresa.riscos.logging.RiskLogger;
+import com.empresa.riscos.model.ApplicantField;
+import com.empresa.riscos.model.FinancialData;
+
+/**
+ * Policy por faixa de score: abaixo do corte o cliente é de alto risco.
+ * Equivale à escolha entre {@link HighRiskStrategy} e {@link LowRiskStrategy} feita em
+ * {@code Main}, mas dentro da estratégia, onde pode ser pré-calculada.
+ */
+public class ScoreBandStrategy implements ThresholdStrategy {
+    private static final RiskLogger LOG = RiskLog.getLogger(ScoreBandStrategy.class);
+
+    private final int highRiskBelow;
+
+    public ScoreBandStrategy(int highRiskBelow) {
+        this.highRiskBelow = highRiskBelow;
+    }
+
+    @Override
+    public RiskLevel evaluate(FinancialData data) {
+        RiskLevel level = levelFor(data.getScore());
+        LOG.info(level == RiskLevel.HIGH
+                ? "Cliente classificado como ALTO risco."
+                : "Cliente classificado como BAIXO risco.");
+        return level;
+    }
+
+    @Override
+    public ApplicantField field() {
+        return ApplicantField.SCORE;
+    }
+
+    @Override
+    public double[] breakpoints() {
+        return new double[]{highRiskBelow};
+    }
+
+    @Override
+    public RiskLevel levelFor(double value) {
+        return value < highRiskBelow ? RiskLevel.HIGH : RiskLevel.LOW;
+    }
+}
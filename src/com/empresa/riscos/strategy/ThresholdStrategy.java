@@ -0,0 +1,17 @@
+package com.empresa.riscos.strategy;
+
+import com.empresa.riscos.model.ApplicantField;
+
+/**
+ * Estratégia cuja classificação depende de um único campo e só muda nos pontos de corte
+ * informados; {@code evaluate(data)} equivale a {@code levelFor(field().valueOf(data))}.
+ * Estratégias constantes não informam pontos de corte.
+ */
+public interface ThresholdStrategy extends RiskStrategy {
+    ApplicantField field();
+
+    /** Pontos de corte vigentes, finitos e em qualquer ordem. */
+    double[] breakpoints();
+
+    RiskLevel levelFor(double value);
+}